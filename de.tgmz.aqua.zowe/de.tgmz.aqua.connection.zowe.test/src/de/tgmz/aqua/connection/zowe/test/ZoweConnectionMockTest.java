@@ -9,19 +9,38 @@
 **********************************************************************/
 package de.tgmz.aqua.connection.zowe.test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HttpsURLConnection;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.NullInputStream;
 import org.junit.AfterClass;
@@ -31,8 +50,13 @@ import org.junit.Test;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.integration.ClientAndServer;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.BinaryBody;
+import org.mockserver.model.ClearType;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.verify.VerificationTimes;
 import org.mockserver.socket.PortFactory;
 import org.mockserver.socket.tls.KeyStoreFactory;
 
@@ -41,10 +65,32 @@ import com.ibm.cics.zos.comm.IZOSConnection.DataSetArguments;
 import com.ibm.cics.zos.comm.IZOSConstants;
 import com.ibm.cics.zos.comm.IZOSConstants.FileType;
 import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
+import com.ibm.cics.zos.comm.ZOSConnectionResponse;
 import com.ibm.cics.zos.comm.ZOSFileNotFoundException;
 import com.ibm.cics.zos.comm.ZOSUnsupportedOperationException;
+import com.ibm.cics.zos.model.IJob;
 
+import de.tgmz.aqua.connection.zowe.connection.BulkJobResult;
+import de.tgmz.aqua.connection.zowe.connection.Health;
+import de.tgmz.aqua.connection.zowe.connection.HedgeMetrics;
+import de.tgmz.aqua.connection.zowe.connection.JobHandle;
+import de.tgmz.aqua.connection.zowe.connection.JobNotificationListener;
+import de.tgmz.aqua.connection.zowe.connection.JobWatcher;
+import de.tgmz.aqua.connection.zowe.connection.OperationClass;
+import de.tgmz.aqua.connection.zowe.connection.OperationContext;
+import de.tgmz.aqua.connection.zowe.connection.PrefetchMetrics;
+import de.tgmz.aqua.connection.zowe.connection.SpoolExport;
+import de.tgmz.aqua.connection.zowe.connection.SpoolFollower;
+import de.tgmz.aqua.connection.zowe.connection.SpoolIndex;
+import de.tgmz.aqua.connection.zowe.connection.UssBulkResult;
+import de.tgmz.aqua.connection.zowe.connection.UssSync;
+import de.tgmz.aqua.connection.zowe.connection.UssSyncResult;
+import de.tgmz.aqua.connection.zowe.connection.UssTransfer;
+import de.tgmz.aqua.connection.zowe.connection.UssWalkResult;
 import de.tgmz.aqua.connection.zowe.connection.ZoweConnection;
+import de.tgmz.aqua.connection.zowe.connection.ZoweEndpoint;
+import de.tgmz.aqua.connection.zowe.connection.ZoweJobConnection;
+import de.tgmz.aqua.connection.zowe.connection.ZoweUssConnection;
 
 public class ZoweConnectionMockTest {
 	private static final String LOG_LEVEL_KEY = "org.slf4j.simpleLogger.defaultLogLevel";
@@ -149,7 +195,12 @@ public class ZoweConnectionMockTest {
 		server.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(204));
 
 		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		String parent = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss7.json"), StandardCharsets.UTF_8);
+		String dir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss8.json"), StandardCharsets.UTF_8);
 
+		// Listings of /foo and /foo/bar
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/" + USER)).respond(HttpResponse.response(parent));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", String.format("/%s/%s", USER, PASS))).respond(HttpResponse.response(dir));
 		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response(body));
 
 		// Test with mock server
@@ -168,6 +219,410 @@ public class ZoweConnectionMockTest {
 		connection.saveFileHFS(HFS_PATH, new NullInputStream(), StandardCharsets.UTF_8.name());
 	}
 
+	@Test
+	public void testUssSymlinks() throws IOException, ConnectionException {
+		String links = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss0.json"), StandardCharsets.UTF_8);
+		String targets = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss1.json"), StandardCharsets.UTF_8);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/links")).respond(HttpResponse.response(links));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/target")).respond(HttpResponse.response(targets));
+
+		List<ZOSConnectionResponse> children = connection.getHFSChildren("/u/links/", true);
+
+		assertEquals(7, children.size());
+
+		for (ZOSConnectionResponse cr : children) {
+			String name = cr.getAttribute(IZOSConstants.NAME);
+
+			assertEquals(name, String.valueOf(!"b".equals(name)), cr.getAttribute(IZOSConstants.HFS_DIRECTORY));
+			assertEquals(name, String.valueOf(!".".equals(name) && !"sub".equals(name)), cr.getAttribute(IZOSConstants.HFS_SYMLINK));
+		}
+
+		// One listing of the directory and one of the parent of the link targets
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(2));
+
+		// Listings and resolved targets are cached
+		server.clear(HttpRequest.request(), ClearType.LOG);
+
+		assertEquals(7, connection.getHFSChildren("/u/links", true).size());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(0));
+		// Targets missing from a truncated listing are looked up by name
+		String big = "[{\"name\":\"x\",\"mode\":\"lrwxrwxrwx\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\",\"target\":\"/u/bigtarget/y\"},{\"name\":\"z\",\"mode\":\"lrwxrwxrwx\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\",\"target\":\"/u/bigtarget/f1\"},{\"name\":\"w\",\"mode\":\"lrwxrwxrwx\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\",\"target\":\"/u/one/t\"}]";
+		String y = "[{\"name\":\"y\",\"mode\":\"-rw-r--r--\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\"}]";
+		String t = "[{\"name\":\"t\",\"mode\":\"-rw-r--r--\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\"}]";
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/biglinks")).respond(HttpResponse.response(String.format("{\"items\":%s,\"returnedRows\":3,\"totalRows\":3,\"JSONversion\":1}", big)));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/bigtarget").withQueryStringParameter("name", "y")).respond(HttpResponse.response(String.format("{\"items\":%s,\"returnedRows\":1,\"totalRows\":1,\"JSONversion\":1}", y)));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/bigtarget")).respond(HttpResponse.response(getListing(10_000)));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/one").withQueryStringParameter("name", "t")).respond(HttpResponse.response(String.format("{\"items\":%s,\"returnedRows\":1,\"totalRows\":1,\"JSONversion\":1}", t)));
+
+		for (ZOSConnectionResponse cr : connection.getHFSChildren("/u/biglinks", true)) {
+			assertEquals(cr.getAttribute(IZOSConstants.NAME), "false", cr.getAttribute(IZOSConstants.HFS_DIRECTORY));
+		}
+
+		// The single target in /u/one is looked up by name, y after the truncated listing of /u/bigtarget
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("name", "t"), VerificationTimes.once());
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("name", "y"), VerificationTimes.once());
+	}
+
+	@Test
+	public void testUssCache() throws IOException, ConnectionException {
+		String dir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+		String created = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss5.json"), StandardCharsets.UTF_8);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/cache")).respond(HttpResponse.response(dir));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(201));
+		server.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(204));
+
+		assertEquals(3, connection.getHFSChildren("/u/cache", true).size());
+		assertEquals(3, connection.getHFSChildren("/u/cache/", true).size());
+
+		// Answered from the listing of the parent
+		assertTrue(connection.existsHFS("/u/cache/d.java"));
+		assertTrue(connection.existsHFSFile("/u/cache", "e"));
+		assertFalse(connection.existsHFS("/u/cache/none"));
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(1));
+
+		// Nonexistent paths are cached
+		assertFalse(connection.existsHFS("/u/other/none"));
+		assertFalse(connection.existsHFS("/u/other/none"));
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(2));
+
+		// Writes invalidate the listing of the parent
+		connection.deletePathHFS("/u/cache/d.java");
+		assertEquals(3, connection.getHFSChildren("/u/cache", true).size());
+
+		connection.saveFileHFS("/u/other/none", new NullInputStream(), FileType.BINARY);
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/other")).respond(HttpResponse.response(created));
+
+		assertTrue(connection.existsHFS("/u/other/none"));
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(4));
+
+		connection.changePermissions("/u/cache/e", "755");
+		assertEquals(3, connection.getHFSChildren("/u/cache", true).size());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(5));
+	}
+
+	@Test
+	public void testUssStat() throws IOException, ConnectionException {
+		String dir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+		String file = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss5.json"), StandardCharsets.UTF_8);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/stat")).respond(HttpResponse.response(dir));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/file").withQueryStringParameter("name", "none")).respond(HttpResponse.response(file));
+
+		// The content isn't read
+		assertTrue(connection.existsHFS("/u/file/none"));
+		assertEquals(0L, connection.statHFS("/u/file/none").getSize().longValue());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("name", "none"), VerificationTimes.exactly(2));
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".+")), VerificationTimes.exactly(0));
+
+		// A server ignoring the name filter doesn't make another file exist
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/file").withQueryStringParameter("name", "other")).respond(HttpResponse.response(file));
+
+		assertFalse(connection.existsHFS("/u/file/other"));
+		assertNull(connection.statHFS("/u/file/other"));
+
+		// One listing per parent
+		server.clear(HttpRequest.request(), ClearType.LOG);
+
+		Map<String, Boolean> exists = connection.existsHFS(Arrays.asList("/u/stat/d.java", "/u/stat/e/", "/u/stat/x", "/u/gone/y"));
+
+		assertEquals(Arrays.asList(true, true, false, false), new ArrayList<>(exists.values()));
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(2));
+
+		// The complete listing is cached
+		assertEquals(400L, connection.statHFS("/u/stat/d.java").getSize().longValue());
+		assertNull(connection.statHFS("/u/gone/y"));
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(2));
+
+		// A directory known from its own listing and the root are looked up in their parents
+		String seen = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss6.json"), StandardCharsets.UTF_8).replace("sync", "seen");
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/seen")).respond(HttpResponse.response(dir));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u").withQueryStringParameter("name", "seen")).respond(HttpResponse.response(seen));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/")).respond(HttpResponse.response(dir));
+
+		assertEquals(3, connection.getHFSChildren("/u/seen", true).size());
+		assertTrue(connection.existsHFS("/u/seen"));
+		assertTrue(connection.statHFS("/u/seen").getMode().startsWith("d"));
+		assertEquals(Arrays.asList(true, true), new ArrayList<>(connection.existsHFS(Arrays.asList("/u/seen", "/u/seen/e")).values()));
+		assertTrue(connection.statHFS("/").getMode().startsWith("d"));
+		assertEquals(Collections.singletonList(true), new ArrayList<>(connection.existsHFS(Collections.singletonList("/")).values()));
+	}
+
+	@Test
+	public void testUssTreeWalker() throws IOException, ConnectionException {
+		String tree = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss2.json"), StandardCharsets.UTF_8);
+		String deep = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/tree")).respond(HttpResponse.response(tree));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/tree/sub/deep")).respond(HttpResponse.response(deep));
+
+		List<String> paths = Collections.synchronizedList(new ArrayList<>());
+
+		UssWalkResult result = connection.walkHFS("/u/tree/").walk((path, file) -> paths.add(path));
+
+		assertTrue(result.isComplete());
+		assertEquals(8, result.getVisited());
+		assertEquals(8, paths.size());
+		assertTrue(paths.contains("/u/tree/sub/deep/d.java"));
+
+		// Two levels per listing
+		assertEquals(2, result.getListed());
+		server.verify(HttpRequest.request().withMethod(HTTP_GET), VerificationTimes.exactly(2));
+
+		assertEquals(3, connection.walkHFS("/u/tree").name("*.java").walk((path, file) -> true).getVisited());
+		assertEquals(2, connection.walkHFS("/u/tree").size(200, 1000).directories(false).walk((path, file) -> true).getVisited());
+		assertEquals(3, connection.walkHFS("/u/tree").modifiedSince(1_600_000_000_000L).directories(false).walk((path, file) -> true).getVisited());
+
+		result = connection.walkHFS("/u/tree").maxDepth(1).walk((path, file) -> true);
+
+		assertEquals(4, result.getVisited());
+		assertEquals(1, result.getListed());
+
+		result = connection.walkHFS("/u/tree").limit(2).walk((path, file) -> true);
+
+		assertEquals(2, result.getVisited());
+		assertTrue(result.isStopped());
+
+		result = connection.walkHFS("/u/none").walk((path, file) -> true);
+
+		assertFalse(result.isComplete());
+		assertEquals(1, result.getErrors().size());
+
+		// A listing with the maximum number of entries may be truncated
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/big")).respond(HttpResponse.response(getListing(10_000)));
+
+		result = connection.walkHFS("/u/big").maxDepth(1).walk((path, file) -> true);
+
+		assertEquals(10_000, result.getVisited());
+		assertFalse(result.isComplete());
+		assertTrue(result.getErrors().containsKey("/u/big"));
+		assertThrows(ConnectionException.class, () -> connection.globHFS("/u/big", "f1*"));
+	}
+
+	@Test
+	public void testUssStreams() throws IOException, ConnectionException {
+		String text = "F\u00f6\u00f6 B\u00e4r";
+		byte[] binary = new byte[200_000];
+
+		for (int i = 0; i < binary.length; ++i) {
+			binary[i] = (byte) i;
+		}
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*bin"))).respond(HttpResponse.response().withBody(BinaryBody.binary(binary)));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*text"))).respond(HttpResponse.response().withHeader("Content-Type", "text/plain; charset=ISO-8859-1").withBody(BinaryBody.binary(text.getBytes(StandardCharsets.ISO_8859_1))));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(201));
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+		assertEquals(binary.length, connection.getFileHFS("/u/bin", FileType.BINARY, baos));
+		assertArrayEquals(binary, baos.toByteArray());
+
+		// Text is written in the default charset
+		assertArrayEquals(text.getBytes(Charset.defaultCharset()), connection.getFileHFS("/u/text", FileType.ASCII).toByteArray());
+		assertThrows(ConnectionException.class, () -> connection.getFileHFS("/u/none", FileType.BINARY, new ByteArrayOutputStream()));
+
+		connection.saveFileHFS("/u/bin", new ByteArrayInputStream(binary), FileType.BINARY);
+		connection.saveFileHFS("/u/text", new ByteArrayInputStream(text.getBytes(Charset.defaultCharset())), StandardCharsets.ISO_8859_1.name());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*bin")).withHeader("X-IBM-Data-Type", "binary").withBody(BinaryBody.binary(binary)));
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*text")).withBody(BinaryBody.binary(new String(text.getBytes(Charset.defaultCharset()), Charset.defaultCharset()).getBytes(StandardCharsets.ISO_8859_1))));
+	}
+
+	@Test
+	public void testUssTranscoding() throws IOException, ConnectionException {
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < 20_000; ++i) {
+			sb.append("Line ").append(i).append(": F\u00f6\u00f6 B\u00e4r [{|}] \u20ac\n");
+		}
+
+		String text = sb.toString();
+		String local = new String(text.getBytes(Charset.defaultCharset()), Charset.defaultCharset());
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*utf8"))).respond(HttpResponse.response().withHeader("Content-Type", "text/plain; charset=UTF-8").withBody(BinaryBody.binary(text.getBytes(StandardCharsets.UTF_8))));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(201));
+
+		assertArrayEquals(text.getBytes(Charset.defaultCharset()), connection.getFileHFS("/u/utf8", FileType.ASCII).toByteArray());
+
+		for (String charset : new String[] {"IBM-1047", "IBM-273"}) {
+			connection.saveFileHFS("/u/" + charset, new ByteArrayInputStream(text.getBytes(Charset.defaultCharset())), charset);
+
+			server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*" + charset)).withBody(BinaryBody.binary(local.getBytes(Charset.forName(charset)))));
+		}
+	}
+
+	@Test
+	public void testUssBulk() throws IOException, ConnectionException {
+		String tree = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss2.json"), StandardCharsets.UTF_8);
+		String deep = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/tree")).respond(HttpResponse.response(tree));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/tree/sub/deep")).respond(HttpResponse.response(deep));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*bad"))).respond(HttpResponse.response().withStatusCode(500));
+		server.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.FILES, ".*bad"))).respond(HttpResponse.response().withStatusCode(500));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(200));
+		server.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(204));
+
+		List<String> paths = connection.globHFS("/u/tree", "*.java");
+
+		assertEquals(3, paths.size());
+		assertTrue(paths.contains("/u/tree/sub/deep/d.java"));
+
+		List<UssBulkResult> results = connection.changeOwner(paths, "FOO", "SYS1", false, 2);
+
+		assertEquals(3, results.size());
+		assertTrue(results.stream().allMatch(UssBulkResult::isSuccess));
+
+		// A failure doesn't stop the batch, paths covered by a recursive request are left out
+		results = connection.changePermissions(Arrays.asList("/u/tree/sub", "/u/tree/bad", "/u/tree/sub/deep"), "755", true, 4);
+
+		assertEquals(2, results.size());
+		assertEquals("/u/tree/bad", results.get(0).getPath());
+		assertFalse(results.get(0).isSuccess());
+		assertTrue(results.get(1).isSuccess());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT), VerificationTimes.exactly(5));
+
+		results = connection.deletePathsHFS(Arrays.asList("/u/tree/sub/deep", "/u/tree/sub", "/u/tree/bad", "/u/tree/a"), 4);
+
+		assertEquals(3, results.size());
+		assertEquals(2, results.stream().filter(UssBulkResult::isSuccess).count());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_DELETE).withHeader("X-IBM-Option", "recursive"), VerificationTimes.exactly(3));
+	}
+
+	@Test
+	public void testUssSync() throws IOException, ConnectionException, ParseException {
+		String root = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss6.json"), StandardCharsets.UTF_8);
+		String tree = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+		byte[] content = new byte[400];
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u").withQueryStringParameter("name", "sync")).respond(HttpResponse.response(root));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/sync")).respond(HttpResponse.response(tree));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*d.java"))).respond(HttpResponse.response().withBody(BinaryBody.binary(content)));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(201));
+
+		File local = Files.createTempDirectory("sync").toFile();
+		long mtime = ZoweUssConnection.DF.get().parse("2024-01-01T00:00:00").getTime();
+
+		try {
+			// The remote tree is copied
+			UssSyncResult result = connection.syncHFS(local, "/u/sync").direction(UssSync.Direction.DOWNLOAD).dryRun(true).sync();
+
+			assertTrue(result.isDryRun());
+			assertEquals("[DOWNLOAD d.java, MKDIR_LOCAL e]", result.getPlan().toString());
+			assertEquals(0, local.list().length);
+
+			// Unchanged files are skipped, new files are uploaded
+			FileUtils.writeByteArrayToFile(new File(local, "d.java"), content);
+			assertTrue(new File(local, "d.java").setLastModified(mtime));
+			FileUtils.writeStringToFile(new File(local, "a.txt"), "0123456789", StandardCharsets.US_ASCII);
+
+			result = connection.syncHFS(local, "/u/sync/").sync();
+
+			assertTrue(result.toString(), result.isComplete());
+			assertEquals(2, result.getPlan().size());
+			assertEquals(1, result.getCompleted(UssSync.Operation.UPLOAD));
+			assertEquals(10, result.getBytes());
+			assertTrue(new File(local, "e").isDirectory());
+
+			server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*a.txt")).withHeader("X-IBM-Data-Type", "binary"));
+
+			// Changed files are downloaded, extra files deleted
+			FileUtils.writeStringToFile(new File(local, "d.java"), "changed", StandardCharsets.US_ASCII);
+
+			result = connection.syncHFS(local, "/u/sync").direction(UssSync.Direction.DOWNLOAD).delete(true).sync();
+
+			assertTrue(result.toString(), result.isComplete());
+			assertEquals(1, result.getCompleted(UssSync.Operation.DOWNLOAD));
+			assertEquals(1, result.getCompleted(UssSync.Operation.DELETE_LOCAL));
+			assertArrayEquals(content, FileUtils.readFileToByteArray(new File(local, "d.java")));
+			assertEquals(mtime, new File(local, "d.java").lastModified());
+			assertFalse(new File(local, "a.txt").exists());
+
+			// Files of equal size are compared by content
+			assertTrue(new File(local, "d.java").setLastModified(mtime - 60_000L));
+
+			result = connection.syncHFS(local, "/u/sync").hash(true).sync();
+
+			assertTrue(result.isComplete());
+			assertEquals(0, result.getPlan().size());
+			assertEquals(mtime, new File(local, "d.java").lastModified());
+		} finally {
+			FileUtils.deleteDirectory(local);
+		}
+	}
+
+	@Test
+	public void testUssChunkedTransfer() throws IOException, ConnectionException {
+		String big = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss4.json"), StandardCharsets.UTF_8);
+		byte[] data = "0123456789abcdefghijABCDE".getBytes(StandardCharsets.US_ASCII);
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u")).respond(HttpResponse.response(big));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*big")).withHeader("Range", "bytes=10-19"), Times.exactly(3)).respond(HttpResponse.response().withStatusCode(500));
+
+		for (int i = 0; i < data.length; i += 10) {
+			int last = Math.min(i + 10, data.length) - 1;
+
+			server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*big")).withHeader("Range", String.format("bytes=%d-%d", i, last))).respond(HttpResponse.response().withStatusCode(206).withBody(BinaryBody.binary(Arrays.copyOfRange(data, i, last + 1))));
+		}
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*big")).withHeader("Range", "bytes=0-0")).respond(HttpResponse.response().withStatusCode(206).withBody(BinaryBody.binary(Arrays.copyOf(data, 1))));
+
+		File target = File.createTempFile("big", ".bin");
+		target.deleteOnExit();
+
+		// The second chunk fails on every retry
+		UssTransfer transfer = connection.downloadFileHFS("/u/big", target, 10);
+
+		assertFalse(transfer.isComplete());
+		assertNotNull(transfer.getError());
+		assertEquals(3, transfer.getChunks());
+		assertEquals(15, transfer.getBytes());
+
+		// Resume downloads the missing chunk only
+		transfer = connection.downloadFileHFS("/u/big", target, 10);
+
+		assertTrue(transfer.isComplete());
+		assertEquals(2, transfer.getResumedChunks());
+		assertEquals(10, transfer.getBytes());
+		assertArrayEquals(data, FileUtils.readFileToByteArray(target));
+		assertFalse(new File(target.getPath() + ".part").exists());
+		assertFalse(new File(target.getPath() + ".chunks").exists());
+
+		// Server ignoring ranges
+		server.reset();
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u")).respond(HttpResponse.response(big));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*big"))).respond(HttpResponse.response().withBody(BinaryBody.binary(data)));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(201));
+
+		FileUtils.deleteQuietly(target);
+
+		transfer = connection.downloadFileHFS("/u/big", target, 10);
+
+		assertTrue(transfer.isComplete());
+		assertArrayEquals(data, FileUtils.readFileToByteArray(target));
+
+		// Upload to a temporary file which is moved to the target
+		transfer = connection.uploadFileHFS(target, "/u/big");
+
+		assertTrue(transfer.isComplete());
+		assertEquals(25, transfer.getBytes());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*big.part")).withBody(BinaryBody.binary(data)));
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.FILES, ".*big")));
+	}
+
 	@Test
 	public void testJobs() throws IOException, ConnectionException {
 		// Test with empty server
@@ -214,6 +669,323 @@ public class ZoweConnectionMockTest {
 		mockCompletionCode("FOO");
 	}
 
+	@Test
+	public void testJobsConsumer() throws IOException, ConnectionException {
+		mockJobs();
+
+		List<ZOSConnectionResponse> jobs = new ArrayList<>();
+
+		assertEquals(1, connection.getJobs("*", JobStatus.ALL, JOB_NAME, 10, jobs::add));
+		assertEquals(1, jobs.size());
+		assertEquals(0, connection.getJobs("*", JobStatus.ACTIVE, JOB_NAME, 10, jobs::add));
+
+		// Limit and active state are passed to z/OSMF
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("max-jobs", "10").withQueryStringParameter("status", "active"));
+	}
+
+	@Test
+	public void testFollowJobSpool() throws IOException, ConnectionException {
+		assertThrows(ConnectionException.class, () -> connection.followJobSpool(JOB_NAME));
+
+		mockJobs();
+
+		assertThrows(ConnectionException.class, () -> connection.followJobSpool(String.format("%s.%s", JOB_NAME, JOB_NAME)));
+
+		SpoolFollower follower = connection.followJobSpool(JOB_NAME);
+
+		assertFalse(follower.poll().isEmpty());
+		assertEquals(Long.valueOf(19), follower.getRecords().get(2L));
+		assertFalse(follower.isComplete());
+		assertEquals(SpoolFollower.MIN_DELAY, follower.getDelay());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withHeader("X-IBM-Record-Range", "0,19"));
+
+		// Nothing appended and job in OUTPUT
+		assertTrue(follower.poll().isEmpty());
+		assertTrue(follower.isComplete());
+		assertEquals(2 * SpoolFollower.MIN_DELAY, follower.getDelay());
+
+		follower.close();
+
+		try (SpoolFollower stepFollower = connection.followJobSpool(String.format("%s.%s", JOB_NAME, "101"))) {
+			assertFalse(stepFollower.poll().isEmpty());
+			assertEquals(1, stepFollower.getRecords().size());
+		}
+	}
+
+	@Test
+	public void testBulkJobs() throws IOException, ConnectionException {
+		mockJobs();
+
+		List<BulkJobResult> results = connection.purgeJobs(Arrays.asList("FOO", "FOO", "FOO"), 2);
+
+		assertEquals(3, results.size());
+		assertTrue(results.stream().allMatch(BulkJobResult::isSuccess));
+
+		// Addressed by name and id
+		server.verify(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.JOBS, "/FOOB/FOO")), VerificationTimes.exactly(3));
+
+		results = connection.cancelJobs("FOO*", JobStatus.ALL, JOB_NAME, ZoweJobConnection.BULK_PARALLELISM);
+
+		assertEquals(1, results.size());
+		assertEquals("FOOB", results.get(0).getJobName());
+		assertTrue(results.get(0).isSuccess());
+
+		server.reset();
+
+		results = connection.purgeJobs(Collections.singletonList("FOO"), 2);
+
+		assertEquals(1, results.size());
+		assertFalse(results.get(0).isSuccess());
+		assertNotNull(results.get(0).getError());
+
+		assertThrows(ConnectionException.class, () -> connection.purgeJobs("FOO*", JobStatus.OUTPUT, JOB_NAME, 2));
+	}
+
+	@Test
+	public void testSubmitJobs() throws Exception {
+		List<InputStream> streams = new ArrayList<>();
+
+		for (int i = 0; i < 10; ++i) {
+			streams.add(IOUtils.toInputStream(JOB_CARD, StandardCharsets.UTF_8));
+		}
+
+		// Test with empty server
+		List<JobHandle> handles = connection.submitDataSetMembers(DS_NAME, Collections.singletonList(MEMBER_NAME), true);
+
+		assertEquals(1, handles.size());
+		assertThrows(ExecutionException.class, () -> handles.get(0).getSubmitted().get(10, TimeUnit.SECONDS));
+		assertThrows(ExecutionException.class, () -> handles.get(0).getCompleted().get(10, TimeUnit.SECONDS));
+
+		server.clear(HttpRequest.request(), ClearType.LOG);
+
+		mockJobs();
+
+		assertEquals("FOO", connection.submitMember(DS_NAME, MEMBER_NAME).getAttribute(IZOSConstants.JOB_ID));
+
+		List<JobHandle> batch = connection.submitJobs(streams, StandardCharsets.UTF_8, true);
+
+		assertEquals(10, batch.size());
+
+		for (JobHandle handle : batch) {
+			assertEquals("FOOB", handle.getSubmitted().get(10, TimeUnit.SECONDS).getAttribute(IZOSConstants.JOB_NAME));
+			assertEquals(IJob.JobCompletion.BADRETURNCODE, handle.getCompleted().get(10, TimeUnit.SECONDS));
+		}
+
+		server.verify(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.JOBS, "")), VerificationTimes.exactly(11));
+
+		// Tracking fails if the job cannot be looked up any more
+		String active = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl1.json"), StandardCharsets.UTF_8).replace("OUTPUT", "ACTIVE");
+
+		server.reset();
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.JOBS, ""))).respond(HttpResponse.response(active));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("jobid", "FOO")).respond(HttpResponse.response().withStatusCode(500));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*"))).respond(HttpResponse.response("[]"));
+
+		JobHandle lost = connection.submitJobs(Collections.singletonList(IOUtils.toInputStream(JOB_CARD, StandardCharsets.UTF_8)), StandardCharsets.UTF_8, true).get(0);
+
+		assertEquals("FOO", lost.getSubmitted().get(10, TimeUnit.SECONDS).getAttribute(IZOSConstants.JOB_ID));
+		assertThrows(ExecutionException.class, () -> lost.getCompleted().get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testNotificationListener() throws Exception {
+		String active = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl1.json"), StandardCharsets.UTF_8).replace("OUTPUT", "ACTIVE");
+
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.JOBS, ""))).respond(HttpResponse.response(active));
+
+		mockJobs();
+
+		try {
+			JobNotificationListener nl = connection.startNotificationListener("localhost", 0, 60_000L);
+
+			JobHandle handle = connection.submitJobs(Collections.singletonList(IOUtils.toInputStream(JOB_CARD, StandardCharsets.UTF_8)), StandardCharsets.UTF_8, true).get(0);
+			handle.getSubmitted().get(10, TimeUnit.SECONDS);
+
+			server.verify(HttpRequest.request().withMethod(HTTP_PUT).withHeader("X-IBM-Notification-URL", nl.getUrl()));
+			assertTrue(nl.getPendingJobs().contains("FOO"));
+
+			// Local stand-in for the notification of z/OSMF
+			assertEquals(404, postNotification(nl.getUrl() + "x", "{}"));
+			assertEquals(400, postNotification(nl.getUrl(), "[]"));
+			assertEquals(200, postNotification(nl.getUrl(), "{\"jobid\":\"FOO\",\"jobname\":\"FOOB\",\"retcode\":\"CC 0000\"}"));
+
+			assertEquals(IJob.JobCompletion.NORMAL, handle.getCompleted().get(10, TimeUnit.SECONDS));
+			assertTrue(nl.getPendingJobs().isEmpty());
+
+			// No notification, so the job is polled after the fallback delay
+			nl = connection.startNotificationListener("localhost", 0, 100L);
+
+			handle = connection.submitJobs(Collections.singletonList(IOUtils.toInputStream(JOB_CARD, StandardCharsets.UTF_8)), StandardCharsets.UTF_8, true).get(0);
+
+			assertEquals(IJob.JobCompletion.BADRETURNCODE, handle.getCompleted().get(10, TimeUnit.SECONDS));
+
+			// Pending jobs are polled once the listener is stopped
+			nl = connection.startNotificationListener("localhost", 0, 60_000L);
+
+			handle = connection.submitJobs(Collections.singletonList(IOUtils.toInputStream(JOB_CARD, StandardCharsets.UTF_8)), StandardCharsets.UTF_8, true).get(0);
+			handle.getSubmitted().get(10, TimeUnit.SECONDS);
+
+			assertTrue(nl.getPendingJobs().contains("FOO"));
+
+			connection.stopNotificationListener();
+
+			assertTrue(nl.getPendingJobs().isEmpty());
+			assertEquals(IJob.JobCompletion.BADRETURNCODE, handle.getCompleted().get(10, TimeUnit.SECONDS));
+		} finally {
+			connection.stopNotificationListener();
+		}
+	}
+
+	@Test
+	public void testJobWatcher() throws IOException, ConnectionException {
+		List<IJob.JobCompletion> completions = new ArrayList<>();
+
+		assertThrows(ConnectionException.class, () -> connection.watchJob(JOB_NAME, (j, c) -> completions.add(c)));
+
+		mockJobs();
+
+		// Already completed
+		connection.watchJob(JOB_NAME, (j, c) -> completions.add(c));
+		assertEquals(Arrays.asList(IJob.JobCompletion.BADRETURNCODE), completions);
+
+		JobWatcher watcher = connection.getJobWatcher();
+		watcher.watch("FOOB", "FOO", USER, (j, c) -> completions.add(c));
+		watcher.watch("FOOX", "BAR", USER, (j, c) -> completions.add(c));
+		assertEquals(2, watcher.getWatchedJobs().size());
+
+		// One listing for the owner and one lookup for the job which is not part of the listing
+		assertEquals(2, watcher.poll());
+		assertEquals(3, completions.size());
+		assertTrue(watcher.getWatchedJobs().isEmpty());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("owner", USER).withQueryStringParameter("prefix", "FOO\\*"));
+
+		watcher.close();
+	}
+
+	@Test
+	public void testJobCache() throws IOException, ConnectionException {
+		String jobId = "FOO";
+
+		mockJobs();
+
+		// Start with an empty cache
+		connection.deleteJob(jobId);
+		server.clear(HttpRequest.request(), ClearType.LOG);
+
+		assertEquals(5, connection.getJobSteps(jobId).size());
+		assertNotNull(connection.getJobStepSpool(String.format("%s.%s", jobId, "101")));
+		assertNotNull(connection.getJobSpool(jobId));
+
+		// Job in OUTPUT, so job and spool files are looked up only once
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("jobid", jobId), VerificationTimes.once());
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*/files")), VerificationTimes.once());
+
+		// Spool of a job in OUTPUT is downloaded only once per spool file
+		assertNotNull(connection.getJobSpool(jobId));
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*/records")), VerificationTimes.exactly(5));
+
+		// Listing the job again keeps its spool files
+		assertEquals(1, connection.getJobs("*", JobStatus.ALL, JOB_NAME).size());
+		assertNotNull(connection.getJobSpool(jobId));
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*/files")), VerificationTimes.once());
+
+		// A reused job id doesn't get the spool of the former job from the cache on disk
+		String reused = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl0.json"), StandardCharsets.UTF_8).replace("J0003922", "J0009999");
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("jobid", jobId), Times.unlimited(), TimeToLive.unlimited(), 10).respond(HttpResponse.response(reused));
+
+		ZoweConnection other = new ZoweConnection();
+
+		try {
+			other.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+
+			assertNotNull(other.getJobSpool(jobId));
+			server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*/records")), VerificationTimes.exactly(10));
+		} finally {
+			other.disconnect();
+		}
+
+		connection.deleteJob(jobId);
+
+		// Purged jobs must be looked up again
+		assertEquals(5, connection.getJobSteps(jobId).size());
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withQueryStringParameter("jobid", jobId), VerificationTimes.exactly(2));
+
+		connection.deleteJob(jobId);
+	}
+
+	@Test
+	public void testSpoolIndex() throws IOException, ConnectionException {
+		String jobId = "FOO";
+
+		mockJobs();
+
+		// Start with an empty index
+		connection.deleteJob(jobId);
+
+		assertTrue(connection.searchSpool("JES2", 100).isEmpty());
+
+		connection.getJobSpool(jobId);
+
+		List<SpoolIndex.Hit> hits = connection.searchSpool("jes2", 100);
+
+		assertFalse(hits.isEmpty());
+		assertEquals(jobId, hits.get(0).getJobId());
+		assertEquals(1, hits.get(0).getLine());
+		assertEquals(1, connection.searchSpool("JES*", 1).size());
+
+		// Hits of several terms are merged by spool file and line
+		List<SpoolIndex.Hit> prefixed = connection.searchSpool("JES*", 100);
+
+		for (int i = 1; i < prefixed.size(); ++i) {
+			SpoolIndex.Hit h0 = prefixed.get(i - 1);
+			SpoolIndex.Hit h1 = prefixed.get(i);
+
+			assertTrue(h0.getFileId() < h1.getFileId() || h0.getFileId() == h1.getFileId() && h0.getLine() < h1.getLine());
+		}
+
+		connection.deleteJob(jobId);
+
+		assertTrue(connection.searchSpool("JES2", 100).isEmpty());
+	}
+
+	@Test
+	public void testExportJobSpool() throws IOException, ConnectionException {
+		File target = File.createTempFile("spool", ".txt");
+		target.deleteOnExit();
+
+		mockJobs();
+
+		SpoolExport export = connection.exportJobSpool("FOO.2", target, 0);
+
+		// The mock returns a single record per request
+		assertTrue(export.isComplete());
+		assertEquals(19, export.getRecords());
+		assertEquals(target.length(), export.getBytes());
+
+		server.verify(HttpRequest.request().withMethod(HTTP_GET).withHeader("X-IBM-Record-Range", "18,10000"));
+
+		// Resume
+		SpoolExport resumed = connection.exportJobSpool("FOO.2", target, 10);
+
+		assertTrue(resumed.isComplete());
+		assertEquals(9, resumed.getRecords());
+		assertEquals(19, resumed.getNextRecord());
+		assertEquals(export.getBytes() + resumed.getBytes(), target.length());
+
+		server.reset();
+
+		// Failure after the spool files have been cached
+		SpoolExport failed = connection.exportJobSpool("FOO.2", target, 0);
+
+		assertFalse(failed.isComplete());
+		assertNotNull(failed.getError());
+		assertEquals(0, failed.getNextRecord());
+	}
+
 	@Test
 	public void testDsn() throws IOException, ConnectionException {
 		// Test with empty server
@@ -265,6 +1037,441 @@ public class ZoweConnectionMockTest {
 
 	}
 
+	@Test
+	public void testSysplex() throws IOException, ConnectionException, InterruptedException {
+		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		String host = server.remoteAddress().getHostName();
+
+		ClientAndServer server2 = ClientAndServer.startClientAndServer(PortFactory.findFreePort());
+		ZoweConnection sysplex = new ZoweConnection();
+
+		try {
+			server.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+			server2.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+
+			sysplex.connect(Arrays.asList(host + ":" + server.getPort(), host + ":" + server2.getPort()), USER, PASS);
+
+			assertEquals(2, sysplex.getEndpoints().size());
+			assertTrue(sysplex.getEndpoints().stream().allMatch(ZoweEndpoint::isAvailable));
+
+			// An unavailable endpoint is left out for reads
+			server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"))).respond(HttpResponse.response().withStatusCode(503));
+			server2.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"))).respond(HttpResponse.response(body));
+
+			assertNotNull(sysplex.getDataSet(DS_NAME));
+			assertFalse(sysplex.getEndpoints().get(0).isAvailable());
+			assertEquals(server2.getPort().intValue(), sysplex.getPort());
+
+			// Jobs stay on the endpoint they were submitted to
+			String s0 = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl0.json"), StandardCharsets.UTF_8);
+			String s1 = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl1.json"), StandardCharsets.UTF_8);
+
+			for (ClientAndServer cas : Arrays.asList(server, server2)) {
+				cas.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.JOBS, ".*"))).respond(HttpResponse.response(s1));
+				cas.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*"))).respond(HttpResponse.response(s0));
+			}
+
+			String jobId = sysplex.submitJob(IOUtils.toInputStream(JOB_CARD, Charset.defaultCharset())).getAttribute(IZOSConstants.JOB_ID);
+
+			TimeUnit.MILLISECONDS.sleep(1_100L);
+
+			assertTrue(sysplex.getEndpoints().get(0).isAvailable());
+			assertNotNull(sysplex.getJob(jobId));
+
+			server.verify(HttpRequest.request().withPath(getUri(ZosmfPaths.JOBS, ".*")), VerificationTimes.never());
+			server2.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*")), VerificationTimes.once());
+
+			sysplex.setStickyJobs(false);
+
+			assertNotNull(sysplex.getJob(jobId));
+
+			server.verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*")), VerificationTimes.once());
+
+			// Members submitted the way Explorer does stick, too
+			sysplex.setStickyJobs(true);
+			server.clear(HttpRequest.request(), ClearType.LOG);
+			server2.clear(HttpRequest.request(), ClearType.LOG);
+
+			assertNotNull(sysplex.submitDataSetMember(DS_NAME, MEMBER_NAME));
+			assertNotNull(sysplex.getJob(jobId));
+
+			boolean first = server.retrieveRecordedRequests(HttpRequest.request().withMethod(HTTP_PUT)).length > 0;
+
+			(first ? server : server2).verify(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*")), VerificationTimes.once());
+			(first ? server2 : server).verify(HttpRequest.request().withPath(getUri(ZosmfPaths.JOBS, ".*")), VerificationTimes.never());
+
+			// A write through any endpoint invalidates the listings read through the others
+			String dir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+			HttpRequest listing = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/plex");
+
+			for (ClientAndServer cas : Arrays.asList(server, server2)) {
+				cas.when(listing).respond(HttpResponse.response(dir));
+				cas.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.FILES, ".*"))).respond(HttpResponse.response().withStatusCode(204));
+			}
+
+			assertEquals(3, sysplex.getHFSChildren("/u/plex", true).size());
+			sysplex.deletePathHFS("/u/plex/d.java");
+			assertEquals(3, sysplex.getHFSChildren("/u/plex", true).size());
+
+			assertEquals(2, server.retrieveRecordedRequests(listing).length + server2.retrieveRecordedRequests(listing).length);
+
+			// A refused connection fails over even for writes
+			server2.stop();
+			server.clear(HttpRequest.request().withPath(getUri(ZosmfPaths.DATASETS, ".*")));
+			server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"))).respond(HttpResponse.response(body));
+
+			assertNotNull(sysplex.submitJob(IOUtils.toInputStream(JOB_CARD, Charset.defaultCharset())));
+			assertNotNull(sysplex.getDataSetMembers(DS_NAME));
+		} finally {
+			sysplex.disconnect();
+			server2.stop();
+		}
+	}
+
+	@Test
+	public void testConnect() throws ConnectionException {
+		String host = server.remoteAddress().getHostName();
+		HttpRequest info = HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info");
+
+		server.when(info).respond(HttpResponse.response("{\"zosmf_hostname\":\"SYS1\",\"zos_version\":\"04.27.00\"}"));
+
+		List<ZoweConnection> connections = Arrays.asList(new ZoweConnection(), new ZoweConnection(), new ZoweConnection());
+		int dead = PortFactory.findFreePort();
+
+		try {
+			// The second one fails
+			Map<ZoweConnection, ConnectionException> failed = ZoweConnection.connectAll(connections, 4, c -> c.connect(host, c == connections.get(1) ? dead : server.getPort(), USER, PASS));
+
+			assertEquals(1, failed.size());
+			assertTrue(failed.containsKey(connections.get(1)));
+			assertTrue(connections.get(0).isConnected());
+			assertFalse(connections.get(1).isConnected());
+			assertEquals("SYS1", connections.get(2).getZosmfInfo().getZosmfHostName());
+
+			// The known system is connected before z/OSMF answers
+			server.clear(info);
+			server.when(info).respond(HttpResponse.response("{\"zosmf_hostname\":\"SYS2\"}").withDelay(TimeUnit.SECONDS, 2));
+
+			ZoweConnection optimistic = connections.get(0);
+			optimistic.setOptimisticConnect(true);
+
+			long start = System.currentTimeMillis();
+
+			optimistic.connect(host, server.getPort(), USER, PASS);
+
+			assertTrue(System.currentTimeMillis() - start < 1_500L);
+			assertTrue(optimistic.isConnected());
+			assertTrue(optimistic.awaitConnected(10, TimeUnit.SECONDS));
+			assertEquals("SYS2", optimistic.getZosmfInfo().getZosmfHostName());
+
+			// A reconnect releases the listeners of the earlier connection
+			String url = optimistic.startNotificationListener("localhost", 0, 60_000L).getUrl();
+
+			optimistic.connect(host, server.getPort(), USER, PASS);
+
+			assertThrows(IOException.class, () -> postNotification(url, "{}"));
+
+			// An unknown system is still verified
+			connections.get(1).setOptimisticConnect(true);
+
+			assertThrows(ConnectionException.class, () -> connections.get(1).connect(host, PortFactory.findFreePort(), USER, PASS));
+		} finally {
+			connections.forEach(ZoweConnection::disconnect);
+		}
+	}
+
+	@Test
+	public void testHedging() throws IOException, ConnectionException {
+		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		HttpRequest members = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"));
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+		server.when(members).respond(HttpResponse.response(body));
+
+		ZoweConnection hedging = new ZoweConnection();
+
+		try {
+			hedging.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+			hedging.setHedging(0.5, 0);
+
+			// Hedging starts with enough samples
+			for (int i = 0; i < 20; ++i) {
+				assertNotNull(hedging.getDataSetMembers(DS_NAME));
+			}
+
+			assertEquals(0, hedging.getHedgeMetrics().getReads());
+			assertTrue(hedging.getHedgeMetrics().getDelays().containsKey("getDataSetMembers"));
+
+			// A stalled read is overtaken by its duplicate
+			server.clear(members);
+			server.when(members, Times.once()).respond(HttpResponse.response(body).withDelay(TimeUnit.SECONDS, 3));
+			server.when(members).respond(HttpResponse.response(body));
+
+			long start = System.currentTimeMillis();
+
+			assertNotNull(hedging.getDataSetMembers(DS_NAME));
+			assertTrue(System.currentTimeMillis() - start < 2_000L);
+
+			// Without budget the next stalled read isn't hedged
+			server.clear(members);
+			server.when(members, Times.once()).respond(HttpResponse.response(body).withDelay(TimeUnit.MILLISECONDS, 500));
+			server.when(members).respond(HttpResponse.response(body));
+
+			assertNotNull(hedging.getDataSetMembers(DS_NAME));
+
+			HedgeMetrics metrics = hedging.getHedgeMetrics();
+
+			assertEquals(2, metrics.getReads());
+			assertEquals(1, metrics.getHedged());
+			assertEquals(1, metrics.getWins());
+			assertEquals(1, metrics.getThrottled());
+		} finally {
+			hedging.disconnect();
+		}
+	}
+
+	@Test
+	public void testHealthMonitor() throws IOException, ConnectionException, InterruptedException {
+		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		HttpRequest info = HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info");
+
+		server.when(info).respond(HttpResponse.response().withStatusCode(200));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"))).respond(HttpResponse.response(body));
+
+		ZoweConnection monitored = new ZoweConnection();
+
+		try {
+			monitored.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+			monitored.setHealthMonitor(200, 1_000, TimeUnit.MILLISECONDS);
+
+			assertTrue(awaitHealth(monitored, Health.HEALTHY));
+			assertNotNull(monitored.getDataSetMembers(DS_NAME));
+
+			// z/OSMF goes down
+			server.clear(info);
+			server.when(info).respond(HttpResponse.response().withStatusCode(503));
+
+			assertTrue(awaitHealth(monitored, Health.OFFLINE));
+			assertFalse(monitored.isConnected());
+			assertTrue(monitored.getEndpoints().get(0).getPingLatency() >= 0);
+
+			// Requests fail fast
+			long start = System.currentTimeMillis();
+
+			assertThrows(ConnectionException.class, () -> monitored.getDataSetMembers(DS_NAME));
+			assertTrue(System.currentTimeMillis() - start < 500L);
+
+			// and wait for the reconnection if configured
+			monitored.setReconnectWait(10, TimeUnit.SECONDS);
+
+			server.clear(info);
+			server.when(info).respond(HttpResponse.response().withStatusCode(200));
+
+			assertNotNull(monitored.getDataSetMembers(DS_NAME));
+			assertTrue(monitored.isConnected());
+			assertEquals(Health.HEALTHY, monitored.getHealth());
+		} finally {
+			monitored.disconnect();
+		}
+	}
+
+	@Test
+	public void testDeadlines() throws IOException, ConnectionException {
+		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		HttpRequest members = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"));
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+		server.when(members, Times.exactly(3)).respond(HttpResponse.response(body).withDelay(TimeUnit.SECONDS, 3));
+		server.when(members).respond(HttpResponse.response(body));
+
+		ZoweConnection bounded = new ZoweConnection();
+
+		try {
+			bounded.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+
+			// Deadline of the operation
+			OperationContext ctx = OperationContext.withTimeout(300, TimeUnit.MILLISECONDS);
+			long start = System.currentTimeMillis();
+
+			assertThrows(ConnectionException.class, () -> ctx.call(() -> bounded.getDataSetMembers(DS_NAME)));
+			assertTrue(System.currentTimeMillis() - start < 2_000L);
+
+			// Cancelled from another thread
+			OperationContext cancellable = OperationContext.create();
+			CompletableFuture.runAsync(() -> {
+				try {
+					Thread.sleep(300);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+
+				cancellable.cancel();
+			});
+
+			start = System.currentTimeMillis();
+
+			assertThrows(ConnectionException.class, () -> cancellable.call(() -> bounded.getDataSetMembers(DS_NAME)));
+			assertTrue(System.currentTimeMillis() - start < 2_000L);
+			assertTrue(cancellable.isCancelled());
+			assertThrows(ConnectionException.class, () -> cancellable.call(() -> bounded.getDataSetMembers(DS_NAME)));
+
+			// Default timeout of the operation class
+			bounded.setTimeout(OperationClass.QUERY, 300, TimeUnit.MILLISECONDS);
+
+			start = System.currentTimeMillis();
+
+			assertThrows(ConnectionException.class, () -> bounded.getDataSetMembers(DS_NAME));
+			assertTrue(System.currentTimeMillis() - start < 2_000L);
+			assertNotNull(bounded.getDataSetMembers(DS_NAME));
+
+			// Downloads into a stream are bounded by the TRANSFER timeout only
+			HttpRequest file = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, ".*slow"));
+			server.when(file).respond(HttpResponse.response().withBody(BinaryBody.binary(new byte[10])).withDelay(TimeUnit.SECONDS, 1));
+
+			bounded.setTimeout(OperationClass.WRITE, 300, TimeUnit.MILLISECONDS);
+			assertEquals(10, bounded.getFileHFS("/u/slow", FileType.BINARY, new ByteArrayOutputStream()));
+
+			bounded.setTimeout(OperationClass.TRANSFER, 300, TimeUnit.MILLISECONDS);
+			assertThrows(ConnectionException.class, () -> bounded.getFileHFS("/u/slow", FileType.BINARY, new ByteArrayOutputStream()));
+
+			// Kept across a reconnect
+			server.clear(members);
+			server.when(members, Times.once()).respond(HttpResponse.response(body).withDelay(TimeUnit.SECONDS, 3));
+			server.when(members).respond(HttpResponse.response(body));
+
+			bounded.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+
+			start = System.currentTimeMillis();
+
+			assertThrows(ConnectionException.class, () -> bounded.getDataSetMembers(DS_NAME));
+			assertTrue(System.currentTimeMillis() - start < 2_000L);
+		} finally {
+			bounded.disconnect();
+		}
+	}
+
+	@Test
+	public void testPrefetch() throws IOException, ConnectionException, InterruptedException {
+		String body = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/ds0.json"), StandardCharsets.UTF_8);
+		String dir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss3.json"), StandardCharsets.UTF_8);
+		String subdir = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/uss4.json"), StandardCharsets.UTF_8);
+		HttpRequest content = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*BAR.*"));
+		HttpRequest files = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*/files"));
+		HttpRequest e = HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/prefetch/e");
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath("/zosmf/info")).respond(HttpResponse.response().withStatusCode(200));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.DATASETS, "/.*"))).respond(HttpResponse.response().withStatusCode(201));
+		server.when(content, Times.once()).respond(HttpResponse.response("prefetched"));
+		server.when(content).respond(HttpResponse.response("fresh"));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.DATASETS, ".*"))).respond(HttpResponse.response(body));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.FILES, "")).withQueryStringParameter("path", "/u/prefetch")).respond(HttpResponse.response(dir));
+		server.when(e).respond(HttpResponse.response(subdir));
+		mockJobs();
+
+		ZoweConnection prefetching = new ZoweConnection();
+
+		try {
+			// Set before the connect
+			prefetching.setPrefetch(1, 2, 1_000_000);
+			prefetching.connect(server.remoteAddress().getHostName(), server.getPort(), USER, PASS);
+
+			// The first member
+			assertEquals(3, prefetching.getDataSetMembers(DS_NAME).size());
+			assertTrue(awaitPrefetched(prefetching, 1));
+
+			assertEquals("prefetched", prefetching.retrieveDataSetMember(DS_NAME, MEMBER_NAME).toString());
+			assertEquals("fresh", prefetching.retrieveDataSetMember(DS_NAME, MEMBER_NAME).toString());
+
+			// A member written is retrieved again
+			prefetching.getDataSetMembers(DS_NAME);
+			assertTrue(awaitPrefetched(prefetching, 2));
+			prefetching.saveDataSetMember(DS_NAME, MEMBER_NAME, new NullInputStream());
+			assertEquals("fresh", prefetching.retrieveDataSetMember(DS_NAME, MEMBER_NAME).toString());
+
+			// The subdirectories
+			assertEquals(3, prefetching.getHFSChildren("/u/prefetch", true).size());
+			assertTrue(awaitPrefetched(prefetching, 3));
+
+			server.clear(e);
+
+			assertEquals(1, prefetching.getHFSChildren("/u/prefetch/e", true).size());
+
+			// The spool files of the jobs in OUTPUT
+			assertEquals(1, prefetching.getJobs("*", JobStatus.ALL, JOB_NAME).size());
+			assertTrue(awaitPrefetched(prefetching, 4));
+			server.verify(files, VerificationTimes.once());
+
+			assertEquals(5, prefetching.getJobSteps("FOO").size());
+			server.verify(files, VerificationTimes.once());
+
+			PrefetchMetrics metrics = prefetching.getPrefetchMetrics();
+
+			assertEquals(1, metrics.getHits());
+			assertEquals(0, metrics.getDropped());
+			assertTrue(metrics.getBytes() > 0);
+		} finally {
+			prefetching.disconnect();
+		}
+	}
+
+	/**
+	 * @return a listing of files f0, f1, ... which has more entries on the server
+	 */
+	private static String getListing(int n) {
+		StringBuilder sb = new StringBuilder("{\"items\":[");
+
+		for (int i = 0; i < n; ++i) {
+			sb.append(i == 0 ? "" : ",").append(String.format("{\"name\":\"f%d\",\"mode\":\"-rw-r--r--\",\"size\":1,\"mtime\":\"2020-01-01T00:00:00\"}", i));
+		}
+
+		return sb.append(String.format("],\"returnedRows\":%d,\"totalRows\":%d,\"JSONversion\":1}", n, n + 1)).toString();
+	}
+
+	private static boolean awaitPrefetched(ZoweConnection c, long prefetched) throws InterruptedException {
+		for (int i = 0; i < 100 && c.getPrefetchMetrics().getPrefetched() < prefetched; ++i) {
+			Thread.sleep(50);
+		}
+
+		return c.getPrefetchMetrics().getPrefetched() == prefetched;
+	}
+
+	private static boolean awaitHealth(ZoweConnection c, Health health) throws InterruptedException {
+		for (int i = 0; i < 100 && c.getHealth() != health; ++i) {
+			Thread.sleep(50);
+		}
+
+		return c.getHealth() == health;
+	}
+
+	private static int postNotification(String url, String body) throws IOException {
+		HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+		con.setRequestMethod("POST");
+		con.setDoOutput(true);
+
+		try (OutputStream os = con.getOutputStream()) {
+			os.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+
+		int rc = con.getResponseCode();
+
+		con.disconnect();
+
+		return rc;
+	}
+
+	private void mockJobs() throws IOException {
+		String s0 = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl0.json"), StandardCharsets.UTF_8);
+		String s1 = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl1.json"), StandardCharsets.UTF_8);
+		String s2 = IOUtils.toString(ZoweConnectionMockTest.class.getClassLoader().getResource("testresources/jcl2.json"), StandardCharsets.UTF_8);
+		s2 = s2.replace("localhost:80", String.format("%s:%s", server.remoteAddress().getHostName(), server.getPort()));
+
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*files*"))).respond(HttpResponse.response(s2));
+		server.when(HttpRequest.request().withMethod(HTTP_PUT).withPath(getUri(ZosmfPaths.JOBS, ".*"))).respond(HttpResponse.response(s1));
+		server.when(HttpRequest.request().withMethod(HTTP_GET).withPath(getUri(ZosmfPaths.JOBS, ".*"))).respond(HttpResponse.response(s0));
+
+		server.when(HttpRequest.request().withMethod(HTTP_DELETE).withPath(getUri(ZosmfPaths.JOBS, "/.*"))).respond(HttpResponse.response().withStatusCode(204));
+	}
+
 	private static String getUri(ZosmfPaths path, String pattern) {
 		return String.format("%s%s", path.getPath(), pattern);
 	}
@@ -0,0 +1,51 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a bulk purge or cancel for a single job.
+ */
+public class BulkJobResult {
+	private final String jobName;
+	private final String jobId;
+	private final ConnectionException error;
+
+	BulkJobResult(String jobName, String jobId, ConnectionException error) {
+		this.jobName = jobName;
+		this.jobId = jobId;
+		this.error = error;
+	}
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	/**
+	 * @return the reason of the failure or <code>null</code> if the job was processed
+	 */
+	public ConnectionException getError() {
+		return error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(%s) %s", jobName, jobId, isSuccess() ? "OK" : error.getMessage());
+	}
+}
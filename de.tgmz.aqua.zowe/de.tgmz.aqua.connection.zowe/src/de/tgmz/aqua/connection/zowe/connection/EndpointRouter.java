@@ -0,0 +1,663 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ibm.cics.core.comm.ConnectionException;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+
+/**
+ * Routes requests to the endpoints of a sysplex. Available endpoints are tried in the order of their
+ * outstanding requests and their latency. A request fails over to the next endpoint if the endpoint
+ * cannot be reached and, for idempotent requests, if it doesn't answer or is unavailable. Requests
+ * consuming a stream don't fail over. Job requests prefer the endpoint the job was submitted to if
+ * stickiness is enabled.
+ * <p>
+ * Small reads can be hedged: if a read hasn't completed within a percentile of the latencies of its
+ * operation, a duplicate is sent and the first response wins. The number of duplicates is limited by
+ * a budget relative to the number of reads.
+ * <p>
+ * With a {@link HealthMonitor} requests fail fast or wait for reconnection while all endpoints are offline.
+ * <p>
+ * Requests with a deadline, either from the {@link OperationContext} of the calling thread or the timeout of
+ * their {@link OperationClass}, run on a worker which is interrupted, aborting the HTTP request, if the deadline
+ * passes or the context is cancelled.
+ */
+class EndpointRouter {
+	private static final Logger LOG = LoggerFactory.getLogger(EndpointRouter.class);
+
+	static final int MAX_JOBS = 10_000;
+	/** Reads of an operation needed before it is hedged */
+	static final int MIN_SAMPLES = 20;
+	/** Duplicates which can be saved up */
+	static final double MAX_TOKENS = 10;
+
+	private final List<ZoweEndpoint> endpoints;
+
+	/** Endpoint by id of the jobs submitted through it */
+	private final Cache<String, ZoweEndpoint> jobs = CacheBuilder.newBuilder().maximumSize(MAX_JOBS).expireAfterAccess(1, TimeUnit.DAYS).build();
+
+	private volatile boolean sticky = true;
+
+	private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+	private final LongAdder reads = new LongAdder();
+	private final LongAdder hedged = new LongAdder();
+	private final LongAdder wins = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+
+	private volatile double hedgePercentile;
+	private volatile double hedgeBudget;
+	private double tokens = 1;
+
+	private ExecutorService hedger;
+	private ExecutorService worker;
+
+	/** Default timeouts in milliseconds */
+	private final Map<OperationClass, Long> timeouts = new ConcurrentHashMap<>();
+
+	private volatile HealthMonitor monitor;
+	private volatile long reconnectWait;
+
+	private enum Failover {
+		NONE, UNREACHABLE, UNAVAILABLE
+	}
+
+	@FunctionalInterface
+	interface Call<T> {
+		T call(ZoweEndpoint endpoint) throws ConnectionException;
+	}
+
+	@FunctionalInterface
+	interface Action {
+		void run(ZoweEndpoint endpoint) throws ConnectionException;
+	}
+
+	@FunctionalInterface
+	private interface Body<T> {
+		T call() throws ConnectionException;
+	}
+
+	EndpointRouter(List<ZoweEndpoint> endpoints) {
+		this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+	}
+
+	List<ZoweEndpoint> getEndpoints() {
+		return endpoints;
+	}
+
+	void setSticky(boolean sticky) {
+		this.sticky = sticky;
+
+		if (!sticky) {
+			jobs.invalidateAll();
+		}
+	}
+
+	/**
+	 * @param percentile the percentile of the latencies after which a duplicate is sent, 0 to disable hedging
+	 * @param budget the maximum ratio of duplicates to reads
+	 */
+	void setHedging(double percentile, double budget) {
+		checkHedging(percentile, budget);
+
+		hedgePercentile = percentile;
+		hedgeBudget = budget;
+	}
+
+	/**
+	 * @param timeout in milliseconds, 0 for none
+	 */
+	void setTimeout(OperationClass operationClass, long timeout) {
+		checkTimeout(timeout);
+
+		timeouts.put(operationClass, timeout);
+	}
+
+	HedgeMetrics getHedgeMetrics() {
+		Map<String, Long> delays = new HashMap<>();
+
+		if (hedgePercentile > 0) {
+			latencies.forEach((k, v) -> {
+				if (v.size() >= MIN_SAMPLES) {
+					delays.put(k, v.percentile(hedgePercentile));
+				}
+			});
+		}
+
+		return new HedgeMetrics(reads.sum(), hedged.sum(), wins.sum(), throttled.sum(), delays);
+	}
+
+	/**
+	 * @param interval between health checks of a healthy endpoint in milliseconds, 0 to stop the checks
+	 * @param degraded the latency of a health check in milliseconds above which an endpoint is degraded
+	 */
+	synchronized void setHealthMonitor(long interval, long degraded) {
+		if (monitor != null) {
+			monitor.shutdown();
+
+			monitor = null;
+		}
+
+		if (interval > 0) {
+			HealthMonitor m = new HealthMonitor(endpoints, interval, degraded);
+			m.setReconnectWait(reconnectWait);
+
+			monitor = m;
+		}
+	}
+
+	synchronized void setReconnectWait(long reconnectWait) {
+		checkReconnectWait(reconnectWait);
+
+		this.reconnectWait = reconnectWait;
+
+		if (monitor != null) {
+			monitor.setReconnectWait(reconnectWait);
+		}
+	}
+
+	static void checkHedging(double percentile, double budget) {
+		if (percentile < 0 || percentile >= 1 || budget < 0) {
+			throw new IllegalArgumentException(String.format("Invalid percentile %f or budget %f", percentile, budget));
+		}
+	}
+
+	static void checkTimeout(long timeout) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException(String.format("Invalid timeout %d", timeout));
+		}
+	}
+
+	static void checkReconnectWait(long reconnectWait) {
+		if (reconnectWait < 0) {
+			throw new IllegalArgumentException(String.format("Invalid reconnect wait %d", reconnectWait));
+		}
+	}
+
+	Health getHealth() {
+		return HealthMonitor.of(endpoints);
+	}
+
+	/**
+	 * @return whether the health monitor considers all endpoints offline
+	 */
+	boolean isOffline() {
+		return monitor != null && getHealth() == Health.OFFLINE;
+	}
+
+	/**
+	 * @return the first available endpoint in configured order, for state kept per endpoint like watchers
+	 */
+	ZoweEndpoint primary() {
+		for (ZoweEndpoint e : endpoints) {
+			if (e.isAvailable()) {
+				return e;
+			}
+		}
+
+		return candidates(null).get(0);
+	}
+
+	/**
+	 * @return the endpoint a request would be sent to now
+	 */
+	ZoweEndpoint select() {
+		return candidates(null).get(0);
+	}
+
+	/**
+	 * @return the endpoint a job was submitted to if it is available, the endpoint a request would be sent to now otherwise
+	 */
+	ZoweEndpoint selectJob(String jobId) {
+		ZoweEndpoint e = getJobEndpoint(jobId);
+
+		return e != null && e.isAvailable() ? e : select();
+	}
+
+	<T> T read(Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.READ, () -> execute(null, Failover.UNAVAILABLE, call));
+	}
+
+	<T> T write(Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.WRITE, () -> execute(null, Failover.UNREACHABLE, call));
+	}
+
+	void run(Action action) throws ConnectionException {
+		write(e -> {
+			action.run(e);
+
+			return null;
+		});
+	}
+
+	/**
+	 * Sends a request which consumes a stream to a single endpoint.
+	 */
+	void runOnce(Action action) throws ConnectionException {
+		bounded(OperationClass.TRANSFER, () -> execute(null, Failover.NONE, e -> {
+			action.run(e);
+
+			return null;
+		}));
+	}
+
+	/**
+	 * Sends a read which writes into a stream or consumer of the caller to a single endpoint.
+	 */
+	<T> T readOnce(Call<T> call) throws ConnectionException {
+		return readJobOnce(null, call);
+	}
+
+	<T> T readJobOnce(String jobId, Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.TRANSFER, () -> execute(getJobEndpoint(jobId), Failover.NONE, call));
+	}
+
+	<T> T readJob(String jobId, Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.READ, () -> execute(getJobEndpoint(jobId), Failover.UNAVAILABLE, call));
+	}
+
+	<T> T writeJob(String jobId, Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.WRITE, () -> execute(getJobEndpoint(jobId), Failover.UNREACHABLE, call));
+	}
+
+	void runJob(String jobId, Action action) throws ConnectionException {
+		writeJob(jobId, e -> {
+			action.run(e);
+
+			return null;
+		});
+	}
+
+	/**
+	 * Reads like {@link #read(Call)} and sends a duplicate if the read takes longer than usual for the operation.
+	 */
+	<T> T hedge(String operation, Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.QUERY, () -> hedge(operation, null, call));
+	}
+
+	<T> T hedgeJob(String operation, String jobId, Call<T> call) throws ConnectionException {
+		return bounded(OperationClass.QUERY, () -> hedge(operation, getJobEndpoint(jobId), call));
+	}
+
+	/**
+	 * Remembers the endpoint a job was submitted to.
+	 */
+	void stick(String jobId, ZoweEndpoint endpoint) {
+		if (sticky && jobId != null) {
+			jobs.put(jobId, endpoint);
+		}
+	}
+
+	void shutdown() {
+		for (ZoweEndpoint e : endpoints) {
+			e.shutdown();
+		}
+
+		synchronized (this) {
+			if (monitor != null) {
+				monitor.shutdown();
+
+				monitor = null;
+			}
+
+			if (hedger != null) {
+				hedger.shutdownNow();
+
+				hedger = null;
+			}
+
+			if (worker != null) {
+				worker.shutdownNow();
+
+				worker = null;
+			}
+		}
+
+		jobs.invalidateAll();
+	}
+
+	private ZoweEndpoint getJobEndpoint(String jobId) {
+		// Either "JOBID" or "JOBID.FILEID"
+		int i = jobId == null ? -1 : jobId.indexOf('.');
+
+		return sticky && jobId != null ? jobs.getIfPresent(i < 0 ? jobId : jobId.substring(0, i)) : null;
+	}
+
+	private <T> T execute(ZoweEndpoint preferred, Failover failover, Call<T> call) throws ConnectionException {
+		HealthMonitor m = monitor;
+
+		if (m != null) {
+			m.await();
+		}
+
+		ConnectionException last = null;
+
+		for (ZoweEndpoint e : candidates(preferred)) {
+			long start = System.nanoTime();
+
+			e.begin();
+
+			try {
+				T result = call.call(e);
+
+				e.success((System.nanoTime() - start) / 1_000_000L);
+
+				return result;
+			} catch (ConnectionException ex) {
+				// A hedged read which lost
+				if (Thread.currentThread().isInterrupted()) {
+					throw ex;
+				}
+
+				boolean unreachable = isUnreachable(ex);
+
+				if (!unreachable && !isUnavailable(ex)) {
+					e.success((System.nanoTime() - start) / 1_000_000L);
+
+					throw ex;
+				}
+
+				e.failure();
+
+				if (failover == Failover.NONE || failover == Failover.UNREACHABLE && !unreachable) {
+					throw ex;
+				}
+
+				LOG.info("Endpoint {} failed, {} endpoints configured", e, endpoints.size(), ex);
+
+				last = ex;
+			} finally {
+				e.end();
+			}
+		}
+
+		throw last;
+	}
+
+	private <T> T hedge(String operation, ZoweEndpoint preferred, Call<T> call) throws ConnectionException {
+		LatencyWindow window = latencies.computeIfAbsent(operation, k -> new LatencyWindow());
+		double percentile = hedgePercentile;
+
+		if (percentile == 0 || window.size() < MIN_SAMPLES) {
+			return timed(window, preferred, call);
+		}
+
+		reads.increment();
+
+		synchronized (this) {
+			tokens = Math.min(MAX_TOKENS, tokens + hedgeBudget);
+		}
+
+		ExecutorCompletionService<T> ecs = new ExecutorCompletionService<>(getHedger());
+		List<Future<T>> futures = new ArrayList<>(2);
+
+		Future<T> primary = ecs.submit(() -> timed(window, preferred, call));
+		futures.add(primary);
+
+		try {
+			Future<T> done = ecs.poll(window.percentile(percentile), TimeUnit.MILLISECONDS);
+
+			if (done == null) {
+				if (acquire()) {
+					hedged.increment();
+
+					// The same endpoint for a sticky job, otherwise the one with the least outstanding requests
+					ZoweEndpoint alternate = preferred != null ? preferred : select();
+
+					futures.add(ecs.submit(() -> timed(window, alternate, call)));
+				} else {
+					throttled.increment();
+				}
+			}
+
+			ExecutionException failure = null;
+
+			for (int i = 0; i < futures.size(); ++i) {
+				if (done == null) {
+					done = ecs.take();
+				}
+
+				try {
+					T result = done.get();
+
+					if (done != primary) {
+						wins.increment();
+					}
+
+					return result;
+				} catch (ExecutionException e) {
+					failure = failure == null ? e : failure;
+				}
+
+				done = null;
+			}
+
+			throw failure.getCause() instanceof ConnectionException ? (ConnectionException) failure.getCause() : new ConnectionException(failure.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new ConnectionException(e);
+		} finally {
+			for (Future<T> f : futures) {
+				f.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Runs the request on a worker if it has a deadline or can be cancelled, on the calling thread otherwise.
+	 */
+	private <T> T bounded(OperationClass operationClass, Body<T> body) throws ConnectionException {
+		OperationContext ctx = OperationContext.current();
+		long timeout = timeouts.getOrDefault(operationClass, 0L);
+
+		if (ctx == null && timeout == 0) {
+			return body.call();
+		}
+
+		if (ctx != null && ctx.isCancelled()) {
+			throw new ConnectionException("Operation cancelled");
+		}
+
+		// The deadline of the operation takes precedence
+		long remaining = ctx != null && ctx.hasDeadline() ? ctx.getRemaining() : timeout == 0 ? Long.MAX_VALUE : timeout;
+
+		if (remaining <= 0) {
+			throw new ConnectionException(new TimeoutException("Deadline exceeded"));
+		}
+
+		Future<T> f = getWorker().submit(body::call);
+
+		if (ctx != null) {
+			ctx.register(f);
+		}
+
+		try {
+			return remaining == Long.MAX_VALUE ? f.get() : f.get(remaining, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new ConnectionException(String.format("%s request exceeded its deadline of %d ms", operationClass, remaining), e);
+		} catch (CancellationException e) {
+			throw new ConnectionException("Operation cancelled", e);
+		} catch (ExecutionException e) {
+			Throwable t = e.getCause();
+
+			if (t instanceof ConnectionException) {
+				throw (ConnectionException) t;
+			}
+
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			}
+
+			throw new ConnectionException(t);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new ConnectionException(e);
+		} finally {
+			// Aborts the HTTP request in progress
+			f.cancel(true);
+
+			if (ctx != null) {
+				ctx.unregister(f);
+			}
+		}
+	}
+
+	private synchronized ExecutorService getWorker() {
+		if (worker == null) {
+			worker = Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "zowe-request");
+				t.setDaemon(true);
+
+				return t;
+			});
+		}
+
+		return worker;
+	}
+
+	private <T> T timed(LatencyWindow window, ZoweEndpoint preferred, Call<T> call) throws ConnectionException {
+		long start = System.nanoTime();
+
+		T result = execute(preferred, Failover.UNAVAILABLE, call);
+
+		window.add((System.nanoTime() - start) / 1_000_000L);
+
+		return result;
+	}
+
+	private synchronized boolean acquire() {
+		if (tokens < 1) {
+			return false;
+		}
+
+		--tokens;
+
+		return true;
+	}
+
+	private synchronized ExecutorService getHedger() {
+		if (hedger == null) {
+			hedger = Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "zowe-hedge");
+				t.setDaemon(true);
+
+				return t;
+			});
+		}
+
+		return hedger;
+	}
+
+	/**
+	 * @return the preferred endpoint if it is available, then the available endpoints by outstanding requests
+	 * and latency, then the unavailable endpoints by the end of their backoff
+	 */
+	List<ZoweEndpoint> candidates(ZoweEndpoint preferred) {
+		List<Candidate> available = new ArrayList<>(endpoints.size());
+		List<Candidate> unavailable = new ArrayList<>();
+
+		for (ZoweEndpoint e : endpoints) {
+			if (e.isAvailable()) {
+				available.add(new Candidate(e, e == preferred ? -1 : e.getOutstanding(), e.getLatency()));
+			} else {
+				unavailable.add(new Candidate(e, 0, e.getUnavailableUntil()));
+			}
+		}
+
+		// Stable, so endpoints alike stay in configured order
+		Comparator<Candidate> order = Comparator.<Candidate>comparingInt(c -> c.outstanding).thenComparingDouble(c -> c.weight);
+
+		available.sort(order);
+		unavailable.sort(order);
+
+		List<ZoweEndpoint> result = new ArrayList<>(endpoints.size());
+
+		available.forEach(c -> result.add(c.endpoint));
+		unavailable.forEach(c -> result.add(c.endpoint));
+
+		return result;
+	}
+
+	/**
+	 * @return whether the request didn't reach the endpoint, so it can be sent to another one in any case
+	 */
+	static boolean isUnreachable(Throwable t) {
+		for (Throwable c = t; c != null; c = c.getCause()) {
+			if (c instanceof ConnectException || c instanceof UnknownHostException || c instanceof NoRouteToHostException) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return whether the endpoint didn't answer or is unavailable (502, 503, 504)
+	 */
+	static boolean isUnavailable(Throwable t) {
+		for (Throwable c = t; c != null; c = c.getCause()) {
+			if (c instanceof ZosmfRequestException) {
+				ZosmfRequestException e = (ZosmfRequestException) c;
+				OptionalInt oStatusCode = e.getResponse() == null ? OptionalInt.empty() : e.getResponse().getStatusCode();
+
+				if (oStatusCode.isPresent()) {
+					int status = oStatusCode.getAsInt();
+
+					return status == 502 || status == 503 || status == 504;
+				}
+
+				return e.getCause() instanceof IOException || e.getCause() != null && e.getCause().getCause() instanceof IOException;
+			}
+		}
+
+		return false;
+	}
+
+	private static final class Candidate {
+		private final ZoweEndpoint endpoint;
+		private final int outstanding;
+		private final double weight;
+
+		private Candidate(ZoweEndpoint endpoint, int outstanding, double weight) {
+			this.endpoint = endpoint;
+			this.outstanding = outstanding;
+			this.weight = weight;
+		}
+	}
+}
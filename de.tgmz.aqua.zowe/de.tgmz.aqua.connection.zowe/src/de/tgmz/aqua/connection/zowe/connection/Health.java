@@ -0,0 +1,22 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+/**
+ * Health of an endpoint or a connection as observed by its requests and health checks.
+ */
+public enum Health {
+	/** Answers within the expected latency */
+	HEALTHY,
+	/** Answers slowly or failed recently */
+	DEGRADED,
+	/** Failed repeatedly, requests fail fast until it answers again */
+	OFFLINE
+}
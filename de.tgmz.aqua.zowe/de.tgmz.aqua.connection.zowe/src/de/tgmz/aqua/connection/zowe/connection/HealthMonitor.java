@@ -0,0 +1,195 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosmfinfo.methods.ZosmfStatus;
+import zowe.client.sdk.zosmfinfo.response.ZosmfInfoResponse;
+
+/**
+ * Checks the endpoints of a connection in the background by requesting <code>/zosmf/info</code>.
+ * <p>
+ * A healthy endpoint is checked once per interval unless it has answered a request meanwhile. A degraded
+ * or offline endpoint is checked more often, backing off to the interval while it doesn't answer. Requests
+ * to an offline connection wait for it to answer again up to a configurable time and fail then.
+ */
+class HealthMonitor {
+	private static final Logger LOG = LoggerFactory.getLogger(HealthMonitor.class);
+
+	static final long MIN_INTERVAL = 100L;
+
+	private final List<ZoweEndpoint> endpoints;
+	private final long interval;
+	private final long degraded;
+	private final ScheduledExecutorService scheduler;
+
+	private volatile long reconnectWait;
+
+	/**
+	 * @param interval between checks of a healthy endpoint in milliseconds
+	 * @param degraded the latency of a check in milliseconds above which an endpoint is degraded
+	 */
+	HealthMonitor(List<ZoweEndpoint> endpoints, long interval, long degraded) {
+		if (interval < MIN_INTERVAL || degraded <= 0) {
+			throw new IllegalArgumentException(String.format("Invalid interval %d or latency %d", interval, degraded));
+		}
+
+		this.endpoints = endpoints;
+		this.interval = interval;
+		this.degraded = degraded;
+
+		scheduler = Executors.newScheduledThreadPool(endpoints.size(), r -> {
+			Thread t = new Thread(r, "zowe-health");
+			t.setDaemon(true);
+
+			return t;
+		});
+
+		for (ZoweEndpoint e : endpoints) {
+			scheduler.execute(() -> check(e));
+		}
+	}
+
+	/**
+	 * @param reconnectWait how long requests wait for an offline connection in milliseconds, 0 to fail at once
+	 */
+	void setReconnectWait(long reconnectWait) {
+		this.reconnectWait = reconnectWait;
+	}
+
+	/**
+	 * @return the best health of the endpoints
+	 */
+	static Health of(List<ZoweEndpoint> endpoints) {
+		Health result = Health.OFFLINE;
+
+		for (ZoweEndpoint e : endpoints) {
+			Health h = e.getHealth();
+
+			if (h.compareTo(result) < 0) {
+				result = h;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns at once unless all endpoints are offline. Waits for one to answer otherwise.
+	 * @throws ConnectionException if no endpoint has answered within the reconnect wait
+	 */
+	void await() throws ConnectionException {
+		if (of(endpoints) != Health.OFFLINE) {
+			return;
+		}
+
+		long deadline = System.currentTimeMillis() + reconnectWait;
+
+		synchronized (this) {
+			while (of(endpoints) == Health.OFFLINE) {
+				long remaining = deadline - System.currentTimeMillis();
+
+				if (remaining <= 0 || scheduler.isShutdown()) {
+					throw new ConnectionException(String.format("z/OSMF is offline, reconnecting to %s in the background", endpoints));
+				}
+
+				try {
+					wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+
+					throw new ConnectionException(e);
+				}
+			}
+		}
+	}
+
+	void shutdown() {
+		scheduler.shutdownNow();
+
+		synchronized (this) {
+			notifyAll();
+		}
+	}
+
+	private void check(ZoweEndpoint e) {
+		Health before = e.getHealth();
+
+		// A healthy endpoint which has answered a request recently isn't checked
+		if (before != Health.HEALTHY || System.currentTimeMillis() - e.getLastResponse() >= interval) {
+			ping(e);
+		}
+
+		Health after = e.getHealth();
+
+		if (after != before) {
+			LOG.info("Endpoint {} is {}", e, after);
+
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+
+		if (!scheduler.isShutdown()) {
+			scheduler.schedule(() -> check(e), next(e), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void ping(ZoweEndpoint e) {
+		long start = System.nanoTime();
+
+		try {
+			ZosmfInfoResponse info = new ZosmfStatus(e.getConnection()).get();
+
+			e.pinged((System.nanoTime() - start) / 1_000_000L, degraded);
+
+			ZosmfInfoCache.put(e.getHost(), e.getPort(), info);
+		} catch (ZosmfRequestException ex) {
+			if (EndpointRouter.isUnreachable(ex) || EndpointRouter.isUnavailable(ex)) {
+				e.failure();
+
+				LOG.debug("Health check of {} failed", e, ex);
+			} else {
+				// Answered anyway
+				e.pinged((System.nanoTime() - start) / 1_000_000L, degraded);
+			}
+		} catch (RuntimeException ex) {
+			e.failure();
+
+			LOG.warn("Health check of {} failed", e, ex);
+		}
+	}
+
+	/**
+	 * @return the delay of the next check: the interval since the last response of a healthy endpoint, a quarter
+	 * of the interval doubling with every failure up to the interval otherwise
+	 */
+	private long next(ZoweEndpoint e) {
+		long delay;
+
+		if (e.getHealth() == Health.HEALTHY) {
+			delay = e.getLastResponse() + interval - System.currentTimeMillis();
+		} else {
+			delay = Math.min(interval, (interval / 4) << Math.min(e.getFailures(), 16));
+		}
+
+		return Math.max(MIN_INTERVAL, delay);
+	}
+}
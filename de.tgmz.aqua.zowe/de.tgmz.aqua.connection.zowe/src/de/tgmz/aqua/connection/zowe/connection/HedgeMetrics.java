@@ -0,0 +1,81 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Snapshot of the hedged reads of a connection.
+ */
+public class HedgeMetrics {
+	private final long reads;
+	private final long hedged;
+	private final long wins;
+	private final long throttled;
+	private final Map<String, Long> delays;
+
+	HedgeMetrics(long reads, long hedged, long wins, long throttled, Map<String, Long> delays) {
+		this.reads = reads;
+		this.hedged = hedged;
+		this.wins = wins;
+		this.throttled = throttled;
+		this.delays = Collections.unmodifiableMap(new TreeMap<>(delays));
+	}
+
+	/**
+	 * @return the number of reads which could have been hedged
+	 */
+	public long getReads() {
+		return reads;
+	}
+
+	/**
+	 * @return the number of reads a duplicate was sent for
+	 */
+	public long getHedged() {
+		return hedged;
+	}
+
+	/**
+	 * @return the number of hedged reads the duplicate answered first
+	 */
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * @return the number of reads not hedged because the budget was exhausted
+	 */
+	public long getThrottled() {
+		return throttled;
+	}
+
+	public double getHedgeRate() {
+		return reads == 0 ? 0 : (double) hedged / reads;
+	}
+
+	public double getWinRate() {
+		return hedged == 0 ? 0 : (double) wins / hedged;
+	}
+
+	/**
+	 * @return the current delay before a duplicate is sent in milliseconds, by operation
+	 */
+	public Map<String, Long> getDelays() {
+		return delays;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d reads, %d hedged (%.1f%%), %d won (%.1f%%), %d throttled", reads, hedged, getHedgeRate() * 100, wins, getWinRate() * 100, throttled);
+	}
+}
@@ -0,0 +1,136 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosjobs.methods.JobGet;
+import zowe.client.sdk.zosjobs.model.Job;
+import zowe.client.sdk.zosjobs.model.JobFile;
+
+/**
+ * Caches jobs and their spool files by job id. Entries of jobs in OUTPUT never change and are kept
+ * until they are evicted, entries of jobs in INPUT or ACTIVE expire after {@link #ACTIVE_TTL}.
+ * The endpoints of a connection share the entries, every endpoint loads missing ones itself.
+ */
+class JobCache {
+	private static final Logger LOG = LoggerFactory.getLogger(JobCache.class);
+
+	static final long ACTIVE_TTL = 5_000L;
+	static final int MAX_SIZE = 1_000;
+
+	private static final class Entry {
+		private final Job job;
+		private final long created = System.currentTimeMillis();
+
+		/** Spool files by id, loaded on demand */
+		private Map<Long, JobFile> files;
+
+		private Entry(Job job) {
+			this.job = job;
+		}
+
+		private boolean isValid() {
+			return isOutput(job) || System.currentTimeMillis() - created < ACTIVE_TTL;
+		}
+	}
+
+	/** JobGet isn't thread safe, so every thread gets its own */
+	private final Supplier<JobGet> jobGet;
+
+	private final Cache<String, Entry> cache;
+
+	JobCache(Supplier<JobGet> jobGet) {
+		this(jobGet, CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build());
+	}
+
+	/**
+	 * @param shared the cache whose entries are shared
+	 */
+	JobCache(Supplier<JobGet> jobGet, JobCache shared) {
+		this(jobGet, shared.cache);
+	}
+
+	private JobCache(Supplier<JobGet> jobGet, Cache<String, Entry> cache) {
+		this.jobGet = jobGet;
+		this.cache = cache;
+	}
+
+	Job getJob(String jobId) throws ZosmfRequestException {
+		return getEntry(jobId).job;
+	}
+
+	List<JobFile> getSpoolFiles(String jobId) throws ZosmfRequestException {
+		return new ArrayList<>(getFiles(getEntry(jobId)).values());
+	}
+
+	JobFile getSpoolFile(String jobId, long fileId) throws ZosmfRequestException {
+		return getFiles(getEntry(jobId)).get(fileId);
+	}
+
+	void put(Job job) {
+		// A job in OUTPUT listed again keeps its spool files, unless its id has been reused
+		cache.asMap().merge(job.getJobId(), new Entry(job), (old, e) -> isOutput(old.job) && isOutput(job) && SpoolCache.getKey(old.job).equals(SpoolCache.getKey(job)) ? old : e);
+	}
+
+	void invalidate(String jobId) {
+		cache.invalidate(jobId);
+	}
+
+	void clear() {
+		cache.invalidateAll();
+	}
+
+	private Entry getEntry(String jobId) throws ZosmfRequestException {
+		Entry e = cache.getIfPresent(jobId);
+
+		if (e == null || !e.isValid()) {
+			LOG.debug("Cache miss {}", jobId);
+
+			e = new Entry(jobGet.get().getById(jobId));
+
+			cache.put(jobId, e);
+		}
+
+		return e;
+	}
+
+	private static boolean isOutput(Job job) {
+		return JobStatus.OUTPUT.name().equals(job.getStatus());
+	}
+
+	private Map<Long, JobFile> getFiles(Entry e) throws ZosmfRequestException {
+		synchronized (e) {
+			if (e.files == null) {
+				Map<Long, JobFile> files = new LinkedHashMap<>();
+
+				for (JobFile file : jobGet.get().getSpoolFilesByJob(e.job)) {
+					files.put(file.getId(), file);
+				}
+
+				e.files = files;
+			}
+
+			return e.files;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.ibm.cics.core.comm.ConnectionException;
+import com.ibm.cics.zos.comm.ZOSConnectionResponse;
+import com.ibm.cics.zos.model.IJob;
+
+/**
+ * Handle of a job of a batch submission. It is returned before the job is actually submitted.
+ */
+public class JobHandle {
+	private final String source;
+
+	private final CompletableFuture<ZOSConnectionResponse> submitted = new CompletableFuture<>();
+	private final CompletableFuture<IJob.JobCompletion> completed = new CompletableFuture<>();
+
+	JobHandle(String source) {
+		this.source = source;
+	}
+
+	/**
+	 * @return the member or the index of the JCL stream the job was submitted from
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * @return completes with name, id and owner of the job as soon as z/OSMF has accepted it
+	 */
+	public CompletableFuture<ZOSConnectionResponse> getSubmitted() {
+		return submitted;
+	}
+
+	/**
+	 * @return completes when the job has ended, if it was submitted with tracking, or exceptionally if the
+	 * job cannot be submitted or tracked
+	 */
+	public CompletableFuture<IJob.JobCompletion> getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Completes the futures not yet completed exceptionally.
+	 */
+	void fail(ConnectionException e) {
+		submitted.completeExceptionally(e);
+		completed.completeExceptionally(e);
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+}
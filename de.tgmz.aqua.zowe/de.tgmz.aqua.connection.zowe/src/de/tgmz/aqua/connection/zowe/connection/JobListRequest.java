@@ -0,0 +1,97 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import kong.unirest.core.GetRequest;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestException;
+import zowe.client.sdk.core.ZosConnection;
+import zowe.client.sdk.rest.Response;
+import zowe.client.sdk.rest.ZosmfRequest;
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosjobs.model.Job;
+
+/**
+ * Lists jobs from the response stream. The requests of the SDK hold the complete response in memory.
+ */
+class JobListRequest extends ZosmfRequest {
+	JobListRequest(ZosConnection connection, String url) {
+		super(connection);
+
+		setUrl(url);
+	}
+
+	@Override
+	public void setStandardHeaders() {
+		headers.put("Content-Type", "application/json");
+		headers.put(X_CSRF_ZOSMF_HEADER_KEY, X_CSRF_ZOSMF_HEADER_VALUE);
+	}
+
+	@Override
+	public void setBody(Object aBody) {
+		throw new IllegalStateException("A job list has no body");
+	}
+
+	/**
+	 * Use {@link #list(Consumer)}.
+	 */
+	@Override
+	public Response executeRequest() throws ZosmfRequestException {
+		throw new IllegalStateException("Jobs are only listed into a consumer");
+	}
+
+	/**
+	 * Deserializes every job directly from the response and passes it to the consumer.
+	 */
+	void list(Consumer<Job> consumer) throws ZosmfRequestException {
+		HttpResponse<String> response;
+
+		try {
+			response = withToken().headers(headers).asObject(raw -> {
+				if (raw.getStatus() >= 300) {
+					return raw.getContentAsString();
+				}
+
+				try (InputStream is = raw.getContent(); MappingIterator<Job> it = ZoweJobConnection.JOB_READER.readValues(is)) {
+					while (it.hasNextValue()) {
+						consumer.accept(it.nextValue());
+					}
+
+					return "";
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UnirestException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw new ZosmfRequestException("Invalid job list", e.getCause().getCause());
+			}
+
+			throw new ZosmfRequestException(e.getMessage(), e);
+		} catch (UncheckedIOException e) {
+			throw new ZosmfRequestException("Invalid job list", e.getCause());
+		}
+
+		// Throws for error responses
+		buildResponse(response);
+	}
+
+	private GetRequest withToken() {
+		return token == null ? Unirest.get(url) : Unirest.get(url).cookie(token);
+	}
+}
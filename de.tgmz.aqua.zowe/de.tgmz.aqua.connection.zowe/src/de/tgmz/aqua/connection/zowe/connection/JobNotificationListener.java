@@ -0,0 +1,338 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
+import com.ibm.cics.zos.comm.ZOSConnectionResponse;
+import com.ibm.cics.zos.model.IJob;
+
+import zowe.client.sdk.zosjobs.model.Job;
+
+/**
+ * Minimal HTTP listener for the notifications z/OSMF posts when a job submitted with
+ * <code>X-IBM-Notification-URL</code> has ended. Jobs without a notification after the fallback
+ * delay are handed over to the {@link JobWatcher}.
+ */
+public class JobNotificationListener implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(JobNotificationListener.class);
+
+	public static final long FALLBACK_DELAY = 300_000L;
+
+	private static final int MAX_LINE = 8 * 1024;
+	private static final int MAX_BODY = 64 * 1024;
+	private static final int SO_TIMEOUT = 2_000;
+	private static final int HANDLERS = 2;
+	private static final int QUEUE_SIZE = 16;
+
+	private static final class Pending {
+		private final Job job;
+		private final JobWatcher.Listener listener;
+
+		private ScheduledFuture<?> fallback;
+
+		private Pending(Job job, JobWatcher.Listener listener) {
+			this.job = job;
+			this.listener = listener;
+		}
+	}
+
+	private final ZoweJobConnection jobConnection;
+	private final String callbackHost;
+	private final long fallbackDelay;
+
+	/** Random path, so notifications cannot be guessed */
+	private final String path = "/" + UUID.randomUUID();
+
+	private final Map<String, Pending> pending = new HashMap<>();
+	private final List<JobWatcher.Listener> listeners = new CopyOnWriteArrayList<>();
+
+	private ServerSocket serverSocket;
+	private ThreadPoolExecutor handlers;
+
+	JobNotificationListener(ZoweJobConnection jobConnection, String callbackHost, long fallbackDelay) {
+		this.jobConnection = jobConnection;
+		this.callbackHost = callbackHost;
+		this.fallbackDelay = fallbackDelay;
+	}
+
+	/**
+	 * Listens on the interface of the callback host only, so the plain HTTP port is not exposed on other networks.
+	 */
+	void start(int port) throws IOException {
+		serverSocket = new ServerSocket(port, 50, InetAddress.getByName(callbackHost));
+
+		// A slow client must not block the notifications of others
+		handlers = new ThreadPoolExecutor(HANDLERS, HANDLERS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_SIZE), r -> {
+			Thread t = new Thread(r, "zowe-job-notification-handler");
+			t.setDaemon(true);
+
+			return t;
+		});
+		handlers.allowCoreThreadTimeOut(true);
+
+		Thread t = new Thread(this::accept, "zowe-job-notification");
+		t.setDaemon(true);
+		t.start();
+
+		LOG.info("Listening for job notifications on {}", getUrl());
+	}
+
+	/**
+	 * @return the URL z/OSMF posts the notifications to
+	 */
+	public String getUrl() {
+		return String.format("http://%s:%d%s", callbackHost, serverSocket.getLocalPort(), path);
+	}
+
+	/**
+	 * Adds a listener which is notified about every job ending, including jobs nobody waits for.
+	 */
+	public void addListener(JobWatcher.Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(JobWatcher.Listener listener) {
+		listeners.remove(listener);
+	}
+
+	public synchronized Set<String> getPendingJobs() {
+		return new HashSet<>(pending.keySet());
+	}
+
+	/**
+	 * Stops listening. Jobs still waiting for their notification are handed over to the {@link JobWatcher}.
+	 */
+	@Override
+	public void close() {
+		List<Pending> handover;
+
+		synchronized (this) {
+			handover = new ArrayList<>(pending.values());
+
+			pending.clear();
+
+			if (serverSocket != null) {
+				try {
+					serverSocket.close();
+				} catch (IOException e) {
+					LOG.debug("Cannot close {}", serverSocket, e);
+				}
+			}
+
+			if (handlers != null) {
+				handlers.shutdownNow();
+			}
+		}
+
+		for (Pending p : handover) {
+			p.fallback.cancel(false);
+
+			LOG.debug("Listener closed, polling {}", p.job.getJobId());
+
+			jobConnection.getJobWatcher().watch(p.job.getJobName(), p.job.getJobId(), p.job.getOwner(), p.listener);
+		}
+	}
+
+	/**
+	 * Waits for the notification of a submitted job.
+	 */
+	synchronized void expect(Job job, JobWatcher.Listener listener) {
+		Pending p = new Pending(job, listener);
+		p.fallback = jobConnection.getScheduler().schedule(() -> fallback(job.getJobId()), fallbackDelay, TimeUnit.MILLISECONDS);
+
+		pending.put(job.getJobId(), p);
+	}
+
+	void jobEnded(Job notified) {
+		Pending p;
+
+		synchronized (this) {
+			p = pending.remove(notified.getJobId());
+		}
+
+		Job job = notified;
+
+		if (p != null) {
+			p.fallback.cancel(false);
+
+			// The notification may lack some attributes
+			job = Job.builder().jobId(notified.getJobId())
+					.jobName(notified.getJobName().isEmpty() ? p.job.getJobName() : notified.getJobName())
+					.owner(notified.getOwner().isEmpty() ? p.job.getOwner() : notified.getOwner())
+					.classs(notified.getClasss().isEmpty() ? p.job.getClasss() : notified.getClasss())
+					.status(JobStatus.OUTPUT.name())
+					.retCode(notified.getRetCode())
+					.build();
+		}
+
+		LOG.debug("Job {} has ended with {}", job.getJobId(), job.getRetCode());
+
+		ZOSConnectionResponse cr = jobConnection.convertJob(job);
+		IJob.JobCompletion jc = jobConnection.getJobCompletion(job);
+
+		if (p != null) {
+			p.listener.jobCompleted(cr, jc);
+		}
+
+		for (JobWatcher.Listener l : listeners) {
+			l.jobCompleted(cr, jc);
+		}
+	}
+
+	private void fallback(String jobId) {
+		Pending p;
+
+		synchronized (this) {
+			p = pending.remove(jobId);
+		}
+
+		if (p != null) {
+			LOG.debug("No notification for {}, polling", jobId);
+
+			jobConnection.getJobWatcher().watch(p.job.getJobName(), p.job.getJobId(), p.job.getOwner(), p.listener);
+		}
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			Socket s;
+
+			try {
+				s = serverSocket.accept();
+			} catch (IOException e) {
+				if (!serverSocket.isClosed()) {
+					LOG.warn("Cannot accept job notification", e);
+				}
+
+				continue;
+			}
+
+			try {
+				handlers.execute(() -> serve(s));
+			} catch (RejectedExecutionException e) {
+				LOG.warn("Too many job notifications, rejecting {}", s.getRemoteSocketAddress());
+
+				try {
+					s.close();
+				} catch (IOException ex) {
+					LOG.debug("Cannot close {}", s, ex);
+				}
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (Socket s = socket) {
+			s.setSoTimeout(SO_TIMEOUT);
+
+			handle(s);
+		} catch (IOException | RuntimeException e) {
+			if (!serverSocket.isClosed()) {
+				LOG.warn("Cannot handle job notification", e);
+			}
+		}
+	}
+
+	private void handle(Socket s) throws IOException {
+		InputStream is = new BufferedInputStream(s.getInputStream());
+
+		String[] request = readLine(is).split(" ");
+		int length = -1;
+
+		for (String header = readLine(is); !header.isEmpty(); header = readLine(is)) {
+			String[] split = header.split(":", 2);
+
+			if (split.length == 2 && "content-length".equals(split[0].trim().toLowerCase(Locale.ROOT))) {
+				length = Integer.parseInt(split[1].trim());
+			}
+		}
+
+		int status;
+
+		if (request.length < 2 || !"POST".equals(request[0])) {
+			status = 405;
+		} else if (!path.equals(request[1])) {
+			status = 404;
+		} else if (length < 0 || length > MAX_BODY) {
+			status = 400;
+		} else {
+			status = handle(IOUtils.toByteArray(is, length));
+		}
+
+		OutputStream os = s.getOutputStream();
+		os.write(String.format("HTTP/1.1 %d %s\r\nContent-Length: 0\r\nConnection: close\r\n\r\n", status, status == 200 ? "OK" : "Error").getBytes(StandardCharsets.ISO_8859_1));
+		os.flush();
+	}
+
+	private int handle(byte[] body) {
+		Job job;
+
+		try {
+			job = ZoweJobConnection.JOB_READER.readValue(body);
+		} catch (IOException e) {
+			LOG.warn("Invalid job notification {}", new String(body, StandardCharsets.UTF_8), e);
+
+			return 400;
+		}
+
+		if (job.getJobId().isEmpty()) {
+			return 400;
+		}
+
+		jobEnded(job);
+
+		return 200;
+	}
+
+	private static String readLine(InputStream is) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+		for (int c = is.read(); c != '\n'; c = is.read()) {
+			if (c < 0 || baos.size() > MAX_LINE) {
+				throw new IOException("Invalid request");
+			}
+
+			if (c != '\r') {
+				baos.write(c);
+			}
+		}
+
+		return new String(baos.toByteArray(), StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,236 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.core.comm.ConnectionException;
+import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
+import com.ibm.cics.zos.comm.ZOSConnectionResponse;
+import com.ibm.cics.zos.model.IJob;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosjobs.model.Job;
+
+/**
+ * Watches a set of jobs until they have ended. Due jobs are polled with one owner/prefix listing
+ * per owner instead of one request per job. Jobs which are still running are polled less often.
+ */
+public class JobWatcher implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(JobWatcher.class);
+
+	public static final long MIN_DELAY = 2_000L;
+	public static final long MAX_DELAY = 60_000L;
+	public static final int MAX_JOBS = 1000;
+
+	private static final long TICK = 1_000L;
+
+	@FunctionalInterface
+	public interface Listener {
+		void jobCompleted(ZOSConnectionResponse job, IJob.JobCompletion completion);
+
+		/**
+		 * Called instead of {@link #jobCompleted} if the job is no longer watched, because it cannot be
+		 * looked up or because the watcher is closed.
+		 */
+		default void jobFailed(String jobId, ConnectionException e) {
+		}
+	}
+
+	private static final class Entry {
+		private final String jobName;
+		private final String jobId;
+		private final String owner;
+		private final Listener listener;
+
+		private long delay = MIN_DELAY;
+		private long due;
+
+		private Entry(String jobName, String jobId, String owner, Listener listener) {
+			this.jobName = jobName;
+			this.jobId = jobId;
+			this.owner = owner;
+			this.listener = listener;
+		}
+	}
+
+	private final ZoweJobConnection jobConnection;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private ScheduledFuture<?> future;
+
+	JobWatcher(ZoweJobConnection jobConnection) {
+		this.jobConnection = jobConnection;
+	}
+
+	/**
+	 * Watches a job whose name and owner are known, e.g. from the response of a submit.
+	 */
+	public synchronized void watch(String jobName, String jobId, String owner, Listener listener) {
+		LOG.debug("watch {} {} {}", jobName, jobId, owner);
+
+		entries.put(jobId, new Entry(jobName, jobId, owner, listener));
+
+		if (future == null) {
+			future = jobConnection.getScheduler().scheduleWithFixedDelay(this::tick, TICK, TICK, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public synchronized void unwatch(String jobId) {
+		entries.remove(jobId);
+	}
+
+	public synchronized Set<String> getWatchedJobs() {
+		return new HashSet<>(entries.keySet());
+	}
+
+	/**
+	 * Polls all due jobs and notifies the listeners of the completed ones.
+	 * @return the number of requests sent to z/OSMF
+	 */
+	public int poll() {
+		long now = System.currentTimeMillis();
+
+		Map<String, List<Entry>> byOwner = new HashMap<>();
+
+		synchronized (this) {
+			for (Entry e : entries.values()) {
+				if (e.due <= now) {
+					byOwner.computeIfAbsent(e.owner, k -> new ArrayList<>()).add(e);
+				}
+			}
+		}
+
+		int requests = 0;
+
+		for (Map.Entry<String, List<Entry>> group : byOwner.entrySet()) {
+			List<Entry> due = group.getValue();
+			Map<String, Job> found = new HashMap<>();
+
+			try {
+				requests++;
+
+				for (Job job : jobConnection.getJobs(group.getKey(), getPrefix(due), MAX_JOBS)) {
+					found.put(job.getJobId(), job);
+				}
+			} catch (ZosmfRequestException e) {
+				LOG.warn("Cannot list jobs of {}", group.getKey(), e);
+
+				due.forEach(x -> backoff(x, now));
+
+				continue;
+			}
+
+			for (Entry e : due) {
+				Job job = found.get(e.jobId);
+
+				if (job == null) {
+					// Not part of the listing, e.g. more than MAX_JOBS jobs match the prefix
+					try {
+						requests++;
+
+						job = jobConnection.getJobById(e.jobId);
+					} catch (ZosmfRequestException | IllegalStateException ex) {
+						LOG.warn("Cannot get job {}, stop watching", e.jobId, ex);
+
+						unwatch(e.jobId);
+
+						e.listener.jobFailed(e.jobId, new ConnectionException(ex));
+
+						continue;
+					}
+				}
+
+				update(e, job, now);
+			}
+		}
+
+		return requests;
+	}
+
+	/**
+	 * Stops watching. The listeners of the jobs still watched are told that the jobs have failed.
+	 */
+	@Override
+	public void close() {
+		List<Entry> closed;
+
+		synchronized (this) {
+			if (future != null) {
+				future.cancel(false);
+
+				future = null;
+			}
+
+			closed = new ArrayList<>(entries.values());
+
+			entries.clear();
+		}
+
+		for (Entry e : closed) {
+			e.listener.jobFailed(e.jobId, new ConnectionException(String.format("Watching job %s was stopped", e.jobId)));
+		}
+	}
+
+	private void update(Entry e, Job job, long now) {
+		if (JobStatus.OUTPUT.name().equals(job.getStatus())) {
+			unwatch(e.jobId);
+
+			e.listener.jobCompleted(jobConnection.convertJob(job), jobConnection.getJobCompletion(job));
+		} else {
+			backoff(e, now);
+		}
+	}
+
+	private synchronized void backoff(Entry e, long now) {
+		// Long running jobs are polled less often
+		e.due = now + e.delay;
+		e.delay = Math.min(e.delay * 2, MAX_DELAY);
+	}
+
+	private void tick() {
+		try {
+			poll();
+		} catch (RuntimeException e) {
+			LOG.warn("Cannot poll watched jobs", e);
+		}
+	}
+
+	private static String getPrefix(List<Entry> entries) {
+		String prefix = entries.get(0).jobName;
+
+		for (Entry e : entries) {
+			int i = 0;
+
+			while (i < prefix.length() && i < e.jobName.length() && prefix.charAt(i) == e.jobName.charAt(i)) {
+				++i;
+			}
+
+			if (i < prefix.length() || i < e.jobName.length()) {
+				prefix = prefix.substring(0, i) + "*";
+			}
+		}
+
+		return prefix;
+	}
+}
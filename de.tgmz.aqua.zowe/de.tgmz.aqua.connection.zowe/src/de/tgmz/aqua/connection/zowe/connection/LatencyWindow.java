@@ -0,0 +1,50 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.Arrays;
+
+/**
+ * The latest {@link #SIZE} latencies of an operation.
+ */
+class LatencyWindow {
+	static final int SIZE = 256;
+
+	private final long[] samples = new long[SIZE];
+	private int count;
+	private int next;
+
+	synchronized void add(long millis) {
+		samples[next] = millis;
+		next = (next + 1) % SIZE;
+		count = Math.min(count + 1, SIZE);
+	}
+
+	synchronized int size() {
+		return count;
+	}
+
+	/**
+	 * @param percentile between 0 and 1
+	 * @return the latency the given share of the samples doesn't exceed or -1 without samples
+	 */
+	synchronized long percentile(double percentile) {
+		if (count == 0) {
+			return -1;
+		}
+
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+
+		int i = (int) Math.ceil(percentile * count) - 1;
+
+		return sorted[Math.max(0, Math.min(count - 1, i))];
+	}
+}
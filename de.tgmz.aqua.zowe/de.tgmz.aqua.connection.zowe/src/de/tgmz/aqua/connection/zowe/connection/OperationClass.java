@@ -0,0 +1,24 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+/**
+ * Kinds of requests with their own default timeout.
+ */
+public enum OperationClass {
+	/** Small reads like listings and job status */
+	QUERY,
+	/** Other reads like spool files */
+	READ,
+	/** Requests changing something like deletes and job purges */
+	WRITE,
+	/** Uploads from a stream and downloads into a stream or consumer of the caller */
+	TRANSFER
+}
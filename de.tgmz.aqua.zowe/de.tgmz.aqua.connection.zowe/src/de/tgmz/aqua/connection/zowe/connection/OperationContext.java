@@ -0,0 +1,127 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * A deadline and a cancellation signal for the requests of an operation, e.g.
+ * <pre>
+ * OperationContext ctx = OperationContext.withTimeout(30, TimeUnit.SECONDS);
+ * ByteArrayOutputStream spool = ctx.call(() -&gt; connection.getJobStepSpool(jobId));
+ * </pre>
+ * Requests sent by the operation fail once the deadline has passed or the context is cancelled from another
+ * thread. The HTTP request in progress is aborted then.
+ */
+public final class OperationContext {
+	private static final ThreadLocal<OperationContext> CURRENT = new ThreadLocal<>();
+
+	/** Deadline in {@link System#nanoTime()}, {@link Long#MAX_VALUE} without */
+	private final long deadline;
+
+	private final List<Future<?>> requests = new ArrayList<>();
+
+	private volatile boolean cancelled;
+
+	@FunctionalInterface
+	public interface Operation<T> {
+		T call() throws ConnectionException;
+	}
+
+	private OperationContext(long deadline) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * @return a context without deadline which can be cancelled
+	 */
+	public static OperationContext create() {
+		return new OperationContext(Long.MAX_VALUE);
+	}
+
+	public static OperationContext withTimeout(long timeout, TimeUnit unit) {
+		return new OperationContext(System.nanoTime() + unit.toNanos(timeout));
+	}
+
+	/**
+	 * Runs the operation on the calling thread with this context.
+	 */
+	public <T> T call(Operation<T> operation) throws ConnectionException {
+		OperationContext previous = CURRENT.get();
+
+		CURRENT.set(this);
+
+		try {
+			return operation.call();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Aborts the requests in progress and fails the following ones.
+	 */
+	public void cancel() {
+		List<Future<?>> l;
+
+		synchronized (this) {
+			cancelled = true;
+
+			l = new ArrayList<>(requests);
+		}
+
+		for (Future<?> f : l) {
+			f.cancel(true);
+		}
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean hasDeadline() {
+		return deadline != Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return the time left in milliseconds, {@link Long#MAX_VALUE} without deadline
+	 */
+	public long getRemaining() {
+		return hasDeadline() ? TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) : Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return the context of the operation running on this thread or <code>null</code>
+	 */
+	static OperationContext current() {
+		return CURRENT.get();
+	}
+
+	synchronized void register(Future<?> request) {
+		if (cancelled) {
+			request.cancel(true);
+		} else {
+			requests.add(request);
+		}
+	}
+
+	synchronized void unregister(Future<?> request) {
+		requests.remove(request);
+	}
+}
@@ -0,0 +1,60 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+/**
+ * Snapshot of the prefetches of a connection.
+ */
+public class PrefetchMetrics {
+	private final long prefetched;
+	private final long bytes;
+	private final long hits;
+	private final long dropped;
+
+	PrefetchMetrics(long prefetched, long bytes, long hits, long dropped) {
+		this.prefetched = prefetched;
+		this.bytes = bytes;
+		this.hits = hits;
+		this.dropped = dropped;
+	}
+
+	/**
+	 * @return the number of members, jobs and directories prefetched
+	 */
+	public long getPrefetched() {
+		return prefetched;
+	}
+
+	/**
+	 * @return the bytes prefetched, estimated for listings
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the number of members retrieved from the prefetched contents
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of prefetches dropped because the queue was full or requests kept the connection busy
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d prefetched (%d bytes), %d hits, %d dropped", prefetched, bytes, hits, dropped);
+	}
+}
@@ -0,0 +1,308 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ibm.cics.core.comm.ConnectionException;
+import com.ibm.cics.zos.comm.IZOSConstants;
+import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
+import com.ibm.cics.zos.comm.ZOSConnectionResponse;
+
+/**
+ * Warms the caches with what is likely requested after a listing: the content of the first members of a
+ * data set, the spool files of the most recent jobs in OUTPUT and the listings of the first subdirectories.
+ * <p>
+ * Prefetches run on low priority threads, at most a given number at a time. They wait while other requests
+ * are in progress or the bandwidth budget is spent and are dropped if they have waited for {@link #MAX_WAIT}.
+ * Prefetched member contents are served once within {@link #CONTENT_TTL}.
+ */
+class Prefetcher {
+	private static final Logger LOG = LoggerFactory.getLogger(Prefetcher.class);
+
+	static final long CONTENT_TTL = 30_000L;
+	static final long MAX_CONTENT = 16L * 1024 * 1024;
+	static final int QUEUE_SIZE = 1_000;
+	/** Estimated size of an entry of a listing in bytes */
+	static final int ENTRY_SIZE = 256;
+	/** Interval of checking for other requests */
+	static final long YIELD = 50L;
+	static final long MAX_WAIT = 10_000L;
+
+	private final EndpointRouter router;
+	private final int depth;
+	private final long bytesPerSecond;
+	private final ThreadPoolExecutor executor;
+
+	/** Member contents by "DSN(MEMBER)" */
+	private final Cache<String, byte[]> contents = CacheBuilder.newBuilder().maximumWeight(MAX_CONTENT).<String, byte[]>weigher((k, v) -> v.length).expireAfterWrite(CONTENT_TTL, TimeUnit.MILLISECONDS).build();
+	/** Counts writes, so a member written while it is prefetched isn't cached */
+	private final AtomicLong writes = new AtomicLong();
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder prefetched = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	private double tokens;
+	private long refilled = System.nanoTime();
+
+	@FunctionalInterface
+	private interface Fetch {
+		/**
+		 * @return the bytes fetched
+		 */
+		long fetch() throws ConnectionException;
+	}
+
+	/**
+	 * @param depth the number of items prefetched per listing
+	 * @param parallelism the maximum number of prefetches at a time
+	 * @param bytesPerSecond the bandwidth budget, 0 for none
+	 */
+	Prefetcher(EndpointRouter router, int depth, int parallelism, long bytesPerSecond) {
+		check(depth, parallelism, bytesPerSecond);
+
+		this.router = router;
+		this.depth = depth;
+		this.bytesPerSecond = bytesPerSecond;
+
+		tokens = bytesPerSecond;
+
+		executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_SIZE), r -> {
+			Thread t = new Thread(r, "zowe-prefetch");
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+
+			return t;
+		});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	static void check(int depth, int parallelism, long bytesPerSecond) {
+		if (depth <= 0 || parallelism <= 0 || bytesPerSecond < 0) {
+			throw new IllegalArgumentException(String.format("Invalid depth %d, parallelism %d or budget %d", depth, parallelism, bytesPerSecond));
+		}
+	}
+
+	void members(String dataSetName, List<ZOSConnectionResponse> members) {
+		for (int i = 0; i < Math.min(depth, members.size()); ++i) {
+			String member = members.get(i).getAttribute(IZOSConstants.NAME);
+
+			submit(key(dataSetName, member), () -> {
+				String key = key(dataSetName, member);
+
+				if (contents.getIfPresent(key) != null) {
+					return 0;
+				}
+
+				long before = writes.get();
+				byte[] b = router.select().getDsnConnection().retrieveDataSetMember(dataSetName, member).toByteArray();
+
+				if (writes.get() == before) {
+					contents.put(key, b);
+				}
+
+				return b.length;
+			});
+		}
+	}
+
+	/**
+	 * Prefetches the spool files of the most recent jobs in OUTPUT. The spool of other jobs changes.
+	 */
+	void jobs(List<ZOSConnectionResponse> jobs) {
+		List<String> ids = new ArrayList<>();
+
+		for (ZOSConnectionResponse job : jobs) {
+			if (JobStatus.OUTPUT.name().equals(job.getAttribute(IZOSConstants.JOB_STATUS))) {
+				ids.add(job.getAttribute(IZOSConstants.JOB_ID));
+			}
+		}
+
+		ids.sort(Comparator.comparingLong(Prefetcher::jobNumber).reversed());
+
+		for (String id : ids.subList(0, Math.min(depth, ids.size()))) {
+			submit("job:" + id, () -> (long) router.selectJob(id).getJobConnection().prefetchSpoolFiles(id) * ENTRY_SIZE);
+		}
+	}
+
+	void directories(String aPath, List<ZOSConnectionResponse> children) {
+		String parent = aPath.endsWith("/") ? aPath : aPath + "/";
+		int n = 0;
+
+		for (ZOSConnectionResponse child : children) {
+			String name = child.getAttribute(IZOSConstants.NAME);
+
+			if (n < depth && !".".equals(name) && !"..".equals(name) && Boolean.parseBoolean(child.getAttribute(IZOSConstants.HFS_DIRECTORY))) {
+				String path = parent + name;
+
+				submit("dir:" + path, () -> (long) router.select().getUssConnection().prefetchListing(path) * ENTRY_SIZE);
+
+				++n;
+			}
+		}
+	}
+
+	/**
+	 * @return the prefetched content of a member or <code>null</code>. The content is served once.
+	 */
+	ByteArrayOutputStream take(String dataSetName, String memberName) {
+		byte[] b = contents.asMap().remove(key(dataSetName, memberName));
+
+		if (b == null) {
+			return null;
+		}
+
+		hits.increment();
+
+		ByteArrayOutputStream result = new ByteArrayOutputStream(b.length);
+		result.write(b, 0, b.length);
+
+		return result;
+	}
+
+	/**
+	 * Drops the prefetched content of a member which has been written, of all members if the member is
+	 * <code>null</code>.
+	 */
+	void invalidate(String dataSetName, String memberName) {
+		writes.incrementAndGet();
+
+		if (memberName == null) {
+			String prefix = dataSetName + "(";
+
+			contents.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+		} else {
+			contents.invalidate(key(dataSetName, memberName));
+		}
+	}
+
+	PrefetchMetrics getMetrics() {
+		return new PrefetchMetrics(prefetched.sum(), bytes.sum(), hits.sum(), dropped.sum());
+	}
+
+	void shutdown() {
+		executor.shutdownNow();
+		contents.invalidateAll();
+	}
+
+	private void submit(String key, Fetch fetch) {
+		if (!pending.add(key)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					run(key, fetch);
+				} finally {
+					pending.remove(key);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pending.remove(key);
+			dropped.increment();
+		}
+	}
+
+	private void run(String key, Fetch fetch) {
+		long deadline = System.currentTimeMillis() + MAX_WAIT;
+
+		try {
+			// Yield to other requests and the budget
+			while (isBusy() || !hasBudget()) {
+				if (System.currentTimeMillis() > deadline) {
+					dropped.increment();
+
+					return;
+				}
+
+				Thread.sleep(YIELD);
+			}
+
+			long n = fetch.fetch();
+
+			charge(n);
+
+			prefetched.increment();
+			bytes.add(n);
+		} catch (ConnectionException e) {
+			LOG.debug("Cannot prefetch {}", key, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean isBusy() {
+		if (router.getHealth() != Health.HEALTHY) {
+			return true;
+		}
+
+		for (ZoweEndpoint e : router.getEndpoints()) {
+			if (e.getOutstanding() > 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private synchronized boolean hasBudget() {
+		if (bytesPerSecond == 0) {
+			return true;
+		}
+
+		long now = System.nanoTime();
+
+		tokens = Math.min(bytesPerSecond, tokens + bytesPerSecond * (now - refilled) / 1e9);
+		refilled = now;
+
+		return tokens > 0;
+	}
+
+	private synchronized void charge(long n) {
+		tokens -= n;
+	}
+
+	private static String key(String dataSetName, String memberName) {
+		return String.format("%s(%s)", dataSetName, memberName);
+	}
+
+	/**
+	 * @return the number of a job id like JOB01234 or 0
+	 */
+	private static long jobNumber(String jobId) {
+		String digits = jobId == null ? "" : jobId.replaceAll("\\D", "");
+
+		try {
+			return digits.isEmpty() ? 0 : Long.parseLong(digits);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+}
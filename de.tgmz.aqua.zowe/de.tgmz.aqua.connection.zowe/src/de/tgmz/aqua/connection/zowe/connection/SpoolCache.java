@@ -0,0 +1,259 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import zowe.client.sdk.zosjobs.model.Job;
+
+/**
+ * Disk based, gzip compressed cache for the spool of completed jobs. The spool of a job in OUTPUT
+ * never changes, so entries are only removed if the job is purged or if the cache exceeds its size.
+ * Job ids are reused, so entries are keyed by the job correlator, too.
+ */
+class SpoolCache {
+	private static final Logger LOG = LoggerFactory.getLogger(SpoolCache.class);
+
+	static final long MAX_SIZE = 256L * 1024 * 1024;
+
+	private static final String SUFFIX = ".gz";
+
+	private final File dir;
+	private final long maxSize;
+
+	/** Compressed size by file name, in LRU order */
+	private final Map<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	SpoolCache(File dir, long maxSize) {
+		this.dir = dir;
+		this.maxSize = maxSize;
+
+		File[] files = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+
+		if (files != null) {
+			Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+
+			for (File f : files) {
+				index.put(f.getName(), f.length());
+
+				size += f.length();
+			}
+		}
+	}
+
+	synchronized String get(Job job, long fileId) {
+		String key = getKey(job);
+		String name = getName(job.getJobId(), key, fileId);
+
+		if (index.get(name) == null) {
+			return null;
+		}
+
+		String content;
+
+		try (InputStream is = new GZIPInputStream(new FileInputStream(new File(dir, name)))) {
+			content = IOUtils.toString(is, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			LOG.warn("Cannot read {} from spool cache", name, e);
+
+			remove(name);
+
+			return null;
+		}
+
+		// The first line is the key of the job
+		int eol = content.indexOf('\n');
+
+		if (eol < 0 || !key.equals(content.substring(0, eol))) {
+			LOG.debug("Spool cache entry {} belongs to another job", name);
+
+			remove(name);
+
+			return null;
+		}
+
+		return content.substring(eol + 1);
+	}
+
+	synchronized void put(Job job, long fileId, String content) {
+		String key = getKey(job);
+		String name = getName(job.getJobId(), key, fileId);
+		File f = new File(dir, name);
+
+		try {
+			FileUtils.forceMkdir(dir);
+
+			try (OutputStream os = new GZIPOutputStream(new FileOutputStream(f))) {
+				os.write(key.getBytes(StandardCharsets.UTF_8));
+				os.write('\n');
+				os.write(content.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			LOG.warn("Cannot write {} to spool cache", name, e);
+
+			FileUtils.deleteQuietly(f);
+
+			return;
+		}
+
+		Long old = index.put(name, f.length());
+
+		size += f.length() - (old == null ? 0L : old);
+
+		evict();
+	}
+
+	synchronized void invalidate(String jobId) {
+		String prefix = sanitize(jobId) + ".";
+
+		Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+
+		while (it.hasNext()) {
+			Map.Entry<String, Long> e = it.next();
+
+			if (e.getKey().startsWith(prefix)) {
+				FileUtils.deleteQuietly(new File(dir, e.getKey()));
+
+				size -= e.getValue();
+
+				it.remove();
+			}
+		}
+	}
+
+	synchronized long getSize() {
+		return size;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+
+		while (size > maxSize && it.hasNext()) {
+			Map.Entry<String, Long> e = it.next();
+
+			LOG.debug("Evict {} from spool cache", e.getKey());
+
+			FileUtils.deleteQuietly(new File(dir, e.getKey()));
+
+			size -= e.getValue();
+
+			it.remove();
+		}
+	}
+
+	private void remove(String name) {
+		Long old = index.remove(name);
+
+		if (old != null) {
+			size -= old;
+		}
+
+		FileUtils.deleteQuietly(new File(dir, name));
+	}
+
+	/**
+	 * @return the job correlator or, if z/OSMF doesn't return one, job name and job id
+	 */
+	static String getKey(Job job) {
+		String correlator = job.getJobCorrelator();
+
+		return correlator == null || correlator.isEmpty() ? String.format("%s:%s", job.getJobName(), job.getJobId()) : correlator;
+	}
+
+	/**
+	 * Creates a directory only accessible by the user. An existing directory must belong to the user.
+	 */
+	static File createPrivateDirectory(File dir) throws IOException {
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			Path p = dir.toPath();
+			Set<PosixFilePermission> owner = PosixFilePermissions.fromString("rwx------");
+
+			if (!Files.isDirectory(p, LinkOption.NOFOLLOW_LINKS)) {
+				Files.createDirectories(p, PosixFilePermissions.asFileAttribute(owner));
+			}
+
+			if (!System.getProperty("user.name").equals(Files.getOwner(p, LinkOption.NOFOLLOW_LINKS).getName())) {
+				throw new IOException(String.format("%s belongs to another user", dir));
+			}
+
+			Files.setPosixFilePermissions(p, owner);
+		} else {
+			// Best effort, the temporary directory is private to the user on Windows anyway
+			FileUtils.forceMkdir(dir);
+
+			dir.setReadable(false, false);
+			dir.setReadable(true, true);
+			dir.setWritable(false, false);
+			dir.setWritable(true, true);
+		}
+
+		return dir;
+	}
+
+	/**
+	 * @return the cache directory of a system, in a directory private to the user
+	 */
+	static File getDirectory(String host, int port) {
+		File root = new File(System.getProperty("java.io.tmpdir"), "zowe-spool-" + sanitize(System.getProperty("user.name")));
+
+		try {
+			// Job ids are only unique per system
+			return new File(createPrivateDirectory(root), String.format("%s_%d", host, port));
+		} catch (IOException e) {
+			LOG.warn("Cannot use {}, the spool is cached for this session only", root, e);
+
+			try {
+				File dir = Files.createTempDirectory("zowe-spool").toFile();
+
+				FileUtils.forceDeleteOnExit(dir);
+
+				return dir;
+			} catch (IOException e1) {
+				throw new UncheckedIOException(e1);
+			}
+		}
+	}
+
+	private static String getName(String jobId, String key, long fileId) {
+		return String.format("%s.%08x.%d%s", sanitize(jobId), key.hashCode(), fileId, SUFFIX);
+	}
+
+	static String sanitize(String s) {
+		return s.replaceAll("[^A-Za-z0-9]", "_");
+	}
+}
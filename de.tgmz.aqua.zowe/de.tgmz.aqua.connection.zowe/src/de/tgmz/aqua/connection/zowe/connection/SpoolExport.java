@@ -0,0 +1,84 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a spool export. Record offsets count the records of all exported spool files in order,
+ * so a failed export is resumed by exporting again from {@link #getNextRecord()}.
+ */
+public class SpoolExport {
+	private final long startRecord;
+	private final long start = System.nanoTime();
+
+	private long records;
+	private long bytes;
+	private long end;
+
+	private ConnectionException error;
+
+	SpoolExport(long startRecord) {
+		this.startRecord = startRecord;
+	}
+
+	public long getStartRecord() {
+		return startRecord;
+	}
+
+	/**
+	 * @return the record offset to resume the export from
+	 */
+	public long getNextRecord() {
+		return startRecord + records;
+	}
+
+	public long getRecords() {
+		return records;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getMillis() {
+		return ((end == 0 ? System.nanoTime() : end) - start) / 1_000_000L;
+	}
+
+	public long getBytesPerSecond() {
+		return bytes * 1_000L / Math.max(1L, getMillis());
+	}
+
+	public boolean isComplete() {
+		return end != 0 && error == null;
+	}
+
+	/**
+	 * @return the reason why the export stopped or <code>null</code>
+	 */
+	public ConnectionException getError() {
+		return error;
+	}
+
+	void add(long aRecords, long aBytes) {
+		records += aRecords;
+		bytes += aBytes;
+	}
+
+	void finish(ConnectionException anError) {
+		end = System.nanoTime();
+		error = anError;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d records, %d bytes in %d ms (%d bytes/s)%s", records, bytes, getMillis(), getBytesPerSecond(), error == null ? "" : ", " + error.getMessage());
+	}
+}
@@ -0,0 +1,160 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosjobs.model.Job;
+import zowe.client.sdk.zosjobs.model.JobFile;
+
+/**
+ * Tails the spool of a (running) job. Every poll lists the spool files and downloads only
+ * the records that were appended since the previous poll.
+ */
+public class SpoolFollower implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(SpoolFollower.class);
+
+	public static final long MIN_DELAY = 1_000L;
+	public static final long MAX_DELAY = 30_000L;
+
+	private static final String OUTPUT = "OUTPUT";
+
+	private final ZoweJobConnection jobConnection;
+	private final Job job;
+	private final Long fileId;
+
+	/** Number of records already read per spool file id */
+	private final Map<Long, Long> records = new HashMap<>();
+
+	private long delay = MIN_DELAY;
+	private boolean complete;
+	private boolean closed;
+
+	private ScheduledFuture<?> future;
+
+	SpoolFollower(ZoweJobConnection jobConnection, Job job, Long fileId) {
+		this.jobConnection = jobConnection;
+		this.job = job;
+		this.fileId = fileId;
+	}
+
+	/**
+	 * Fetches the records appended since the last call.
+	 * @return the new spool content, empty if nothing was appended
+	 * @throws ConnectionException if z/OSMF cannot be reached
+	 */
+	public synchronized String poll() throws ConnectionException {
+		StringBuilder sb = new StringBuilder();
+
+		try {
+			fetch(sb);
+
+			if (sb.length() > 0) {
+				delay = MIN_DELAY;
+			} else {
+				delay = Math.min(delay * 2, MAX_DELAY);
+
+				// Nothing new, so check if the job has ended in the meantime and drain the rest
+				if (OUTPUT.equals(jobConnection.getJobStatus(job.getJobId()))) {
+					fetch(sb);
+
+					complete = true;
+				}
+			}
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Polls in the background with adaptive delays until the job has ended or the follower is closed.
+	 * @param consumer receives every non empty chunk of new spool content
+	 */
+	public synchronized void start(Consumer<String> consumer) {
+		schedule(jobConnection.getScheduler(), consumer, 0L);
+	}
+
+	public synchronized long getDelay() {
+		return delay;
+	}
+
+	public synchronized boolean isComplete() {
+		return complete;
+	}
+
+	public synchronized Map<Long, Long> getRecords() {
+		return Collections.unmodifiableMap(new HashMap<>(records));
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	private void fetch(StringBuilder sb) throws ZosmfRequestException {
+		for (JobFile file : jobConnection.getSpoolFiles(job)) {
+			if (fileId == null || fileId.equals(file.getId())) {
+				long read = records.getOrDefault(file.getId(), 0L);
+				long available = file.getRecordCount() == null ? 0L : file.getRecordCount();
+
+				if (available > read) {
+					LOG.debug("Fetch records {}-{} of {}.{}", read, available, job.getJobId(), file.getId());
+
+					sb.append(jobConnection.downloadRecords(file.getRecordsUrl(), read, available - read));
+
+					records.put(file.getId(), available);
+				}
+			}
+		}
+	}
+
+	private synchronized void schedule(ScheduledExecutorService executor, Consumer<String> consumer, long aDelay) {
+		if (!closed) {
+			future = executor.schedule(() -> run(executor, consumer), aDelay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void run(ScheduledExecutorService executor, Consumer<String> consumer) {
+		try {
+			String s = poll();
+
+			if (!s.isEmpty()) {
+				consumer.accept(s);
+			}
+		} catch (ConnectionException e) {
+			LOG.warn("Cannot poll spool of {}", job.getJobId(), e);
+		}
+
+		if (isComplete()) {
+			LOG.debug("Job {} has ended", job.getJobId());
+		} else {
+			schedule(executor, consumer, getDelay());
+		}
+	}
+}
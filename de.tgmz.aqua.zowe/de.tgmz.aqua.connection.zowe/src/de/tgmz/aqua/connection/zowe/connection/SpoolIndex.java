@@ -0,0 +1,529 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import zowe.client.sdk.zosjobs.model.Job;
+
+/**
+ * Inverted index over the spool of completed jobs. Terms are the words of the spool lines, e.g. message
+ * ids like <code>IEF450I</code> or abend codes like <code>S0C4</code>. Every term maps to the spool
+ * files and line numbers it occurs in. The index holds the last {@link #MAX_JOBS} jobs and is saved
+ * as a compressed file of delta encoded postings. Job ids are reused, so the spool files of a job are
+ * replaced if a job with the same id but another correlator is added.
+ */
+public class SpoolIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(SpoolIndex.class);
+
+	public static final int MAX_JOBS = 5_000;
+
+	private static final int VERSION = 2;
+	private static final int MIN_TERM = 2;
+	private static final int MAX_TERM = 16;
+
+	/** A line of a spool file containing a term */
+	public static final class Hit {
+		private final String jobId;
+		private final long fileId;
+		private final String ddName;
+		private final int line;
+
+		private Hit(Doc doc, int line) {
+			this.jobId = doc.jobId;
+			this.fileId = doc.fileId;
+			this.ddName = doc.ddName;
+			this.line = line;
+		}
+
+		public String getJobId() {
+			return jobId;
+		}
+
+		public long getFileId() {
+			return fileId;
+		}
+
+		public String getDdName() {
+			return ddName;
+		}
+
+		/**
+		 * @return the line number, starting with 1
+		 */
+		public int getLine() {
+			return line;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s.%d(%s):%d", jobId, fileId, ddName, line);
+		}
+	}
+
+	private static final class Doc {
+		private final String jobId;
+		private final String key;
+		private final long fileId;
+		private final String ddName;
+
+		private boolean removed;
+
+		private Doc(String jobId, String key, long fileId, String ddName) {
+			this.jobId = jobId;
+			this.key = key;
+			this.fileId = fileId;
+			this.ddName = ddName == null ? "" : ddName;
+		}
+	}
+
+	/** Pairs of document and line number, ordered by document */
+	private static final class Postings {
+		private int[] data = new int[4];
+		private int size;
+
+		private void add(int doc, int line) {
+			// A term occurring more than once in a line is recorded once
+			if (size > 0 && data[size - 2] == doc && data[size - 1] == line) {
+				return;
+			}
+
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+
+			data[size++] = doc;
+			data[size++] = line;
+		}
+	}
+
+	private final File file;
+
+	private final List<Doc> docs = new ArrayList<>();
+	private final Map<String, List<Integer>> jobs = new LinkedHashMap<>();
+	private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+	private int removed;
+	private boolean loaded;
+	private boolean dirty;
+
+	SpoolIndex(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Indexes a spool file unless it is already part of the index.
+	 */
+	public synchronized void add(Job job, long fileId, String ddName, CharSequence content) {
+		load();
+
+		String jobId = job.getJobId();
+		String key = SpoolCache.getKey(job);
+
+		List<Integer> jobDocs = jobs.get(jobId);
+
+		// The spool files of an earlier job with the same id
+		if (jobDocs != null && !jobDocs.isEmpty() && !key.equals(docs.get(jobDocs.get(0)).key)) {
+			remove(jobId);
+		}
+
+		jobDocs = jobs.computeIfAbsent(jobId, k -> new ArrayList<>());
+
+		for (int i : jobDocs) {
+			if (docs.get(i).fileId == fileId) {
+				return;
+			}
+		}
+
+		int doc = docs.size();
+
+		docs.add(new Doc(jobId, key, fileId, ddName));
+		jobDocs.add(doc);
+
+		tokenize(doc, content);
+
+		dirty = true;
+
+		while (jobs.size() > MAX_JOBS) {
+			remove(jobs.keySet().iterator().next());
+		}
+	}
+
+	public synchronized boolean contains(Job job, long fileId) {
+		load();
+
+		String key = SpoolCache.getKey(job);
+		List<Integer> jobDocs = jobs.get(job.getJobId());
+
+		if (jobDocs != null) {
+			for (int i : jobDocs) {
+				Doc doc = docs.get(i);
+
+				if (doc.fileId == fileId && key.equals(doc.key)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Searches a term, case insensitive. A term ending with <code>*</code> matches all terms with this prefix.
+	 * @param maxHits the maximum number of hits
+	 * @return the hits, ordered by spool file and line
+	 */
+	public synchronized List<Hit> search(String term, int maxHits) {
+		load();
+
+		String t = term.toUpperCase(Locale.ROOT);
+
+		Collection<Postings> matches;
+
+		if (t.endsWith("*")) {
+			String prefix = t.substring(0, t.length() - 1);
+
+			SortedMap<String, Postings> tail = terms.tailMap(prefix);
+			matches = new ArrayList<>();
+
+			for (Map.Entry<String, Postings> e : tail.entrySet()) {
+				if (!e.getKey().startsWith(prefix)) {
+					break;
+				}
+
+				matches.add(e.getValue());
+			}
+		} else {
+			Postings p = terms.get(t);
+
+			matches = p == null ? Collections.emptyList() : Collections.singletonList(p);
+		}
+
+		// The postings of several terms are merged into document and line order
+		int n = 0;
+
+		for (Postings p : matches) {
+			n += p.size / 2;
+		}
+
+		long[] merged = new long[n];
+		n = 0;
+
+		for (Postings p : matches) {
+			for (int i = 0; i < p.size; i += 2) {
+				merged[n++] = (long) p.data[i] << 32 | p.data[i + 1];
+			}
+		}
+
+		if (matches.size() > 1) {
+			Arrays.sort(merged);
+		}
+
+		List<Hit> result = new ArrayList<>();
+
+		for (int i = 0; i < n && result.size() < maxHits; ++i) {
+			Doc doc = docs.get((int) (merged[i] >>> 32));
+
+			// A line containing several matching terms is a single hit
+			if (!doc.removed && (i == 0 || merged[i] != merged[i - 1])) {
+				result.add(new Hit(doc, (int) merged[i]));
+			}
+		}
+
+		return result;
+	}
+
+	public synchronized void remove(String jobId) {
+		load();
+
+		List<Integer> jobDocs = jobs.remove(jobId);
+
+		if (jobDocs != null) {
+			for (int i : jobDocs) {
+				docs.get(i).removed = true;
+
+				++removed;
+			}
+
+			dirty = true;
+
+			// Postings of removed documents are dropped when half of the documents are gone
+			if (removed > docs.size() / 2) {
+				compact();
+			}
+		}
+	}
+
+	public synchronized int getJobCount() {
+		load();
+
+		return jobs.size();
+	}
+
+	/**
+	 * Writes the index to disk if it has changed.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+
+		compact();
+
+		try {
+			FileUtils.forceMkdir(file.getParentFile());
+
+			try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+				dos.writeInt(VERSION);
+				dos.writeInt(docs.size());
+
+				for (Doc doc : docs) {
+					dos.writeUTF(doc.jobId);
+					dos.writeUTF(doc.key);
+					dos.writeLong(doc.fileId);
+					dos.writeUTF(doc.ddName);
+				}
+
+				dos.writeInt(terms.size());
+
+				for (Map.Entry<String, Postings> e : terms.entrySet()) {
+					Postings p = e.getValue();
+
+					dos.writeUTF(e.getKey());
+					writeVarInt(dos, p.size / 2);
+
+					int lastDoc = 0;
+					int lastLine = 0;
+
+					for (int i = 0; i < p.size; i += 2) {
+						int doc = p.data[i];
+						int line = p.data[i + 1];
+
+						// Documents ascend, lines ascend within a document
+						writeVarInt(dos, doc - lastDoc);
+						writeVarInt(dos, doc == lastDoc ? line - lastLine : line);
+
+						lastDoc = doc;
+						lastLine = line;
+					}
+				}
+			}
+
+			dirty = false;
+		} catch (IOException e) {
+			LOG.warn("Cannot save spool index {}", file, e);
+		}
+	}
+
+	public synchronized void clear() {
+		docs.clear();
+		jobs.clear();
+		terms.clear();
+
+		removed = 0;
+		loaded = true;
+		dirty = false;
+
+		FileUtils.deleteQuietly(file);
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+
+		loaded = true;
+
+		if (!file.isFile()) {
+			return;
+		}
+
+		try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if (dis.readInt() != VERSION) {
+				return;
+			}
+
+			int docCount = dis.readInt();
+
+			for (int i = 0; i < docCount; ++i) {
+				Doc doc = new Doc(dis.readUTF(), dis.readUTF(), dis.readLong(), dis.readUTF());
+
+				docs.add(doc);
+				jobs.computeIfAbsent(doc.jobId, k -> new ArrayList<>()).add(i);
+			}
+
+			int termCount = dis.readInt();
+
+			for (int i = 0; i < termCount; ++i) {
+				String term = dis.readUTF();
+				int n = readVarInt(dis);
+
+				Postings p = new Postings();
+				p.data = new int[Math.max(2, 2 * n)];
+
+				int doc = 0;
+				int line = 0;
+
+				for (int j = 0; j < n; ++j) {
+					int d = readVarInt(dis);
+					int l = readVarInt(dis);
+
+					line = d == 0 ? line + l : l;
+					doc += d;
+
+					p.data[p.size++] = doc;
+					p.data[p.size++] = line;
+				}
+
+				terms.put(term, p);
+			}
+		} catch (IOException e) {
+			LOG.warn("Cannot load spool index {}, starting with an empty index", file, e);
+
+			docs.clear();
+			jobs.clear();
+			terms.clear();
+		}
+	}
+
+	private void tokenize(int doc, CharSequence content) {
+		int line = 1;
+		int start = -1;
+
+		for (int i = 0, n = content.length(); i <= n; ++i) {
+			char c = i < n ? content.charAt(i) : '\n';
+
+			if (isTermChar(c)) {
+				if (start < 0) {
+					start = i;
+				}
+			} else {
+				if (start >= 0) {
+					int len = i - start;
+
+					if (len >= MIN_TERM && len <= MAX_TERM) {
+						String term = content.subSequence(start, i).toString().toUpperCase(Locale.ROOT);
+
+						terms.computeIfAbsent(term, k -> new Postings()).add(doc, line);
+					}
+
+					start = -1;
+				}
+
+				if (c == '\n') {
+					++line;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops removed documents and renumbers the remaining ones.
+	 */
+	private void compact() {
+		if (removed == 0) {
+			return;
+		}
+
+		int[] map = new int[docs.size()];
+		List<Doc> live = new ArrayList<>(docs.size() - removed);
+
+		for (int i = 0; i < docs.size(); ++i) {
+			Doc doc = docs.get(i);
+
+			map[i] = doc.removed ? -1 : live.size();
+
+			if (!doc.removed) {
+				live.add(doc);
+			}
+		}
+
+		terms.values().removeIf(p -> {
+			int size = 0;
+
+			for (int i = 0; i < p.size; i += 2) {
+				int doc = map[p.data[i]];
+
+				if (doc >= 0) {
+					p.data[size++] = doc;
+					p.data[size++] = p.data[i + 1];
+				}
+			}
+
+			p.size = size;
+
+			return size == 0;
+		});
+
+		docs.clear();
+		docs.addAll(live);
+
+		for (List<Integer> jobDocs : jobs.values()) {
+			jobDocs.replaceAll(i -> map[i]);
+		}
+
+		removed = 0;
+	}
+
+	private static boolean isTermChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '$' || c == '#' || c == '@';
+	}
+
+	private static void writeVarInt(DataOutputStream dos, int value) throws IOException {
+		int v = value;
+
+		while ((v & ~0x7F) != 0) {
+			dos.writeByte((v & 0x7F) | 0x80);
+
+			v >>>= 7;
+		}
+
+		dos.writeByte(v);
+	}
+
+	private static int readVarInt(DataInputStream dis) throws IOException {
+		int value = 0;
+
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = dis.readUnsignedByte();
+
+			value |= (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Invalid varint");
+	}
+}
@@ -0,0 +1,372 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts a stream between single byte charsets like IBM-1047, IBM-273 or ISO-8859-1 and from or to UTF-8
+ * with lookup tables instead of a {@link java.nio.charset.CharsetDecoder} and a {@link CharsetEncoder}.
+ * Between two single byte charsets every byte is translated in place. Unmappable and malformed input
+ * is replaced like {@link TranscodingInputStream} does.
+ */
+class TableTranscodingInputStream extends FilterInputStream {
+	private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+	/** Byte to char by single byte charset */
+	private static final Map<Charset, Optional<char[]>> DECODE = new ConcurrentHashMap<>();
+
+	/** Char to byte by single byte charset */
+	private static final Map<Charset, Optional<byte[]>> ENCODE = new ConcurrentHashMap<>();
+
+	private static final int BUFFER_SIZE = TranscodingInputStream.BUFFER_SIZE;
+
+	/** Byte to byte between single byte charsets */
+	private final byte[] table;
+
+	/** Byte to UTF-8 sequence */
+	private final byte[][] sequences;
+
+	/** UTF-8 code point to byte */
+	private final byte[] encode;
+	private final byte replacement;
+
+	/** Input with an incomplete UTF-8 sequence at its start */
+	private final byte[] buffer = new byte[BUFFER_SIZE + 3];
+	private int carry;
+	private boolean eof;
+
+	private final byte[] out;
+	private int pos;
+	private int limit;
+
+	/**
+	 * @return whether the conversion can be done with tables
+	 */
+	static boolean supports(Charset from, Charset to) {
+		boolean utf8From = StandardCharsets.UTF_8.equals(from);
+		boolean utf8To = StandardCharsets.UTF_8.equals(to);
+
+		return !(utf8From && utf8To) && (utf8From || getDecodeTable(from) != null) && (utf8To || getEncodeTable(to) != null);
+	}
+
+	TableTranscodingInputStream(InputStream is, Charset from, Charset to) {
+		super(is);
+
+		if (!supports(from, to)) {
+			throw new IllegalArgumentException(String.format("Cannot convert %s to %s with tables", from, to));
+		}
+
+		char[] decode = StandardCharsets.UTF_8.equals(from) ? null : getDecodeTable(from);
+
+		encode = StandardCharsets.UTF_8.equals(to) ? null : getEncodeTable(to);
+		replacement = encode == null ? 0 : encode[REPLACEMENT_CHAR];
+
+		if (decode != null && encode != null) {
+			table = new byte[256];
+
+			for (int b = 0; b < 256; ++b) {
+				table[b] = encode[decode[b]];
+			}
+
+			sequences = null;
+			out = null;
+		} else if (decode != null) {
+			table = null;
+			sequences = new byte[256][];
+
+			for (int b = 0; b < 256; ++b) {
+				sequences[b] = String.valueOf(decode[b]).getBytes(StandardCharsets.UTF_8);
+			}
+
+			out = new byte[BUFFER_SIZE * 3];
+		} else {
+			table = null;
+			sequences = null;
+			out = new byte[BUFFER_SIZE + 3];
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+
+		return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		if (table != null) {
+			int n = in.read(b, off, len);
+
+			for (int i = off; i < off + n; ++i) {
+				b[i] = table[b[i] & 0xFF];
+			}
+
+			return n;
+		}
+
+		while (pos == limit) {
+			if (eof) {
+				return -1;
+			}
+
+			fill();
+		}
+
+		int n = Math.min(len, limit - pos);
+
+		System.arraycopy(out, pos, b, off, n);
+		pos += n;
+
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		byte[] b = new byte[(int) Math.min(n, BUFFER_SIZE)];
+		long skipped = 0;
+
+		while (skipped < n) {
+			int r = read(b, 0, (int) Math.min(n - skipped, b.length));
+
+			if (r < 0) {
+				break;
+			}
+
+			skipped += r;
+		}
+
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return table != null ? in.available() : limit - pos;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		// Not supported
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		throw new IOException("mark/reset not supported");
+	}
+
+	private void fill() throws IOException {
+		int n = in.read(buffer, carry, BUFFER_SIZE);
+
+		if (n < 0) {
+			eof = true;
+			n = 0;
+		}
+
+		int available = carry + n;
+
+		pos = 0;
+		limit = 0;
+
+		if (sequences != null) {
+			for (int i = 0; i < available; ++i) {
+				byte[] s = sequences[buffer[i] & 0xFF];
+
+				System.arraycopy(s, 0, out, limit, s.length);
+				limit += s.length;
+			}
+
+			carry = 0;
+		} else {
+			int i = decodeUtf8(available);
+
+			carry = available - i;
+
+			System.arraycopy(buffer, i, buffer, 0, carry);
+		}
+	}
+
+	/**
+	 * Converts UTF-8 to a single byte charset. An incomplete sequence at the end of the input is left
+	 * for the next call unless the stream is exhausted.
+	 * @return the number of bytes consumed
+	 */
+	private int decodeUtf8(int available) {
+		int i = 0;
+
+		while (i < available) {
+			int b0 = buffer[i] & 0xFF;
+
+			if (b0 < 0x80) {
+				out[limit++] = encode[b0];
+				++i;
+
+				continue;
+			}
+
+			int need;
+			int min = 0x80;
+			int max = 0xBF;
+
+			if (b0 >= 0xC2 && b0 <= 0xDF) {
+				need = 1;
+			} else if (b0 >= 0xE0 && b0 <= 0xEF) {
+				// Encoded surrogates are decoded and replaced by the table
+				need = 2;
+				min = b0 == 0xE0 ? 0xA0 : min;
+			} else if (b0 >= 0xF0 && b0 <= 0xF4) {
+				need = 3;
+				min = b0 == 0xF0 ? 0x90 : min;
+				max = b0 == 0xF4 ? 0x8F : max;
+			} else {
+				out[limit++] = replacement;
+				++i;
+
+				continue;
+			}
+
+			int k = 1;
+
+			while (k <= need && i + k < available) {
+				int b = buffer[i + k] & 0xFF;
+
+				if (k == 1 ? b < min || b > max : b < 0x80 || b > 0xBF) {
+					break;
+				}
+
+				++k;
+			}
+
+			if (k <= need) {
+				if (i + k == available && !eof) {
+					break;
+				}
+
+				// Malformed, the valid part is replaced once
+				out[limit++] = replacement;
+				i += k;
+
+				continue;
+			}
+
+			if (need == 1) {
+				out[limit++] = encode[(b0 & 0x1F) << 6 | buffer[i + 1] & 0x3F];
+			} else if (need == 2) {
+				out[limit++] = encode[(b0 & 0x0F) << 12 | (buffer[i + 1] & 0x3F) << 6 | buffer[i + 2] & 0x3F];
+			} else {
+				// Supplementary characters don't exist in single byte charsets
+				out[limit++] = replacement;
+			}
+
+			i += need + 1;
+		}
+
+		return i;
+	}
+
+	/**
+	 * @return the chars of all bytes or <code>null</code> if the charset isn't a single byte charset
+	 */
+	private static char[] getDecodeTable(Charset cs) {
+		return DECODE.computeIfAbsent(cs, c -> {
+			if (!c.canEncode() || c.newEncoder().maxBytesPerChar() != 1.0f) {
+				return Optional.empty();
+			}
+
+			byte[] bytes = new byte[256];
+
+			for (int b = 0; b < 256; ++b) {
+				bytes[b] = (byte) b;
+			}
+
+			try {
+				CharBuffer chars = c.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE).decode(ByteBuffer.wrap(bytes));
+
+				if (chars.remaining() != 256) {
+					return Optional.empty();
+				}
+
+				char[] result = new char[256];
+				chars.get(result);
+
+				return Optional.of(result);
+			} catch (CharacterCodingException e) {
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+
+	/**
+	 * @return the bytes of all chars of the BMP or <code>null</code> if the charset isn't a single byte charset
+	 */
+	private static byte[] getEncodeTable(Charset cs) {
+		return ENCODE.computeIfAbsent(cs, c -> {
+			if (getDecodeTable(c) == null) {
+				return Optional.empty();
+			}
+
+			CharsetEncoder encoder = c.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+			if (encoder.replacement().length != 1) {
+				return Optional.empty();
+			}
+
+			// All chars except surrogates, which can't be encoded on their own
+			CharBuffer chars = CharBuffer.allocate(0x10000 - 0x800);
+
+			for (int ch = 0; ch < 0x10000; ++ch) {
+				if (!Character.isSurrogate((char) ch)) {
+					chars.put((char) ch);
+				}
+			}
+
+			chars.flip();
+
+			try {
+				ByteBuffer bytes = encoder.encode(chars);
+
+				if (bytes.remaining() != 0x10000 - 0x800) {
+					return Optional.empty();
+				}
+
+				byte[] result = new byte[0x10000];
+
+				for (int ch = 0; ch < 0x10000; ++ch) {
+					result[ch] = Character.isSurrogate((char) ch) ? encoder.replacement()[0] : bytes.get();
+				}
+
+				return Optional.of(result);
+			} catch (CharacterCodingException e) {
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+}
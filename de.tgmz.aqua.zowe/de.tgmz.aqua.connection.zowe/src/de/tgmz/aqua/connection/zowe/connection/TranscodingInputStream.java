@@ -0,0 +1,163 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Converts a stream from one charset to another in chunks of {@link #BUFFER_SIZE} bytes.
+ */
+class TranscodingInputStream extends FilterInputStream {
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	private final CharsetDecoder decoder;
+	private final CharsetEncoder encoder;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private final ByteBuffer bytes = ByteBuffer.wrap(buffer);
+	private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+	private final ByteBuffer encoded = ByteBuffer.allocate(BUFFER_SIZE * 2);
+
+	private boolean eof;
+	private boolean decoded;
+	private boolean flushed;
+
+	TranscodingInputStream(InputStream is, Charset from, Charset to) {
+		super(is);
+
+		decoder = from.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		encoder = to.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		bytes.limit(0);
+		chars.limit(0);
+		encoded.limit(0);
+	}
+
+	/**
+	 * @return the stream itself if the charsets are equal, a table driven conversion for single byte charsets
+	 * and UTF-8 or a conversion with a decoder and an encoder
+	 */
+	static InputStream of(InputStream is, Charset from, Charset to) {
+		if (from.equals(to)) {
+			return is;
+		}
+
+		return TableTranscodingInputStream.supports(from, to) ? new TableTranscodingInputStream(is, from, to) : new TranscodingInputStream(is, from, to);
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+
+		return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		while (!encoded.hasRemaining()) {
+			if (flushed) {
+				return -1;
+			}
+
+			fill();
+		}
+
+		int n = Math.min(len, encoded.remaining());
+
+		encoded.get(b, off, n);
+
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		byte[] b = new byte[(int) Math.min(n, BUFFER_SIZE)];
+		long skipped = 0;
+
+		while (skipped < n) {
+			int r = read(b, 0, (int) Math.min(n - skipped, b.length));
+
+			if (r < 0) {
+				break;
+			}
+
+			skipped += r;
+		}
+
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return encoded.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		// Not supported
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		throw new IOException("mark/reset not supported");
+	}
+
+	private void fill() throws IOException {
+		if (!decoded) {
+			if (!eof) {
+				bytes.compact();
+
+				int n = in.read(buffer, bytes.position(), bytes.remaining());
+
+				if (n < 0) {
+					eof = true;
+				} else {
+					bytes.position(bytes.position() + n);
+				}
+
+				bytes.flip();
+			}
+
+			chars.compact();
+
+			if (decoder.decode(bytes, chars, eof).isUnderflow() && eof && decoder.flush(chars).isUnderflow()) {
+				decoded = true;
+			}
+
+			chars.flip();
+		}
+
+		encoded.clear();
+		encoder.encode(chars, encoded, decoded);
+
+		if (decoded && !chars.hasRemaining() && encoder.flush(encoded).isUnderflow()) {
+			flushed = true;
+		}
+
+		encoded.flip();
+	}
+}
@@ -0,0 +1,45 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a bulk chmod, chown or delete for a single USS path.
+ */
+public class UssBulkResult {
+	private final String path;
+	private final ConnectionException error;
+
+	UssBulkResult(String path, ConnectionException error) {
+		this.path = path;
+		this.error = error;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	/**
+	 * @return the reason of the failure or <code>null</code> if the path was processed
+	 */
+	public ConnectionException getError() {
+		return error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s", path, isSuccess() ? "OK" : error.getMessage());
+	}
+}
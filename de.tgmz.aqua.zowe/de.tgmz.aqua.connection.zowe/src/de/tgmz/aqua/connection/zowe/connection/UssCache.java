@@ -0,0 +1,158 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import zowe.client.sdk.zosfiles.uss.model.UnixFile;
+
+/**
+ * Caches directory listings, paths which don't exist and whether symlink targets are directories, by
+ * absolute normalized path. Listings expire after {@link #LISTING_TTL}, missing paths after
+ * {@link #MISSING_TTL}, link targets after {@link #LINK_TTL}. The endpoints of a connection share a cache,
+ * so a write through one endpoint invalidates the entries read through the others.
+ */
+class UssCache {
+	static final long LISTING_TTL = 30_000L;
+	static final long MISSING_TTL = 10_000L;
+	static final long LINK_TTL = 300_000L;
+	static final int MAX_SIZE = 1_000;
+
+	private final Cache<String, List<UnixFile>> listings = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(LISTING_TTL, TimeUnit.MILLISECONDS).build();
+	private final Cache<String, Boolean> missing = CacheBuilder.newBuilder().maximumSize(MAX_SIZE * 10L).expireAfterWrite(MISSING_TTL, TimeUnit.MILLISECONDS).build();
+	/** Whether a symlink target is a directory */
+	private final Cache<String, Boolean> linkTargets = CacheBuilder.newBuilder().maximumSize(MAX_SIZE * 10L).expireAfterWrite(LINK_TTL, TimeUnit.MILLISECONDS).build();
+
+	/**
+	 * @return the fresh listing of a directory at depth 1 or <code>null</code>
+	 */
+	List<UnixFile> getListing(String dir) {
+		return listings.getIfPresent(dir);
+	}
+
+	void putListing(String dir, List<UnixFile> items) {
+		listings.put(dir, items);
+		missing.invalidate(dir);
+	}
+
+	void putMissing(String aPath) {
+		missing.put(aPath, Boolean.TRUE);
+	}
+
+	/**
+	 * @return whether a symlink target is a directory or <code>null</code> if the cache doesn't know
+	 */
+	Boolean getLinkTarget(String target) {
+		return linkTargets.getIfPresent(target);
+	}
+
+	void putLinkTarget(String target, boolean directory) {
+		linkTargets.put(target, directory);
+	}
+
+	/**
+	 * @return whether a path exists or <code>null</code> if the cache doesn't know
+	 */
+	Boolean exists(String aPath) {
+		if (missing.getIfPresent(aPath) != null) {
+			return Boolean.FALSE;
+		}
+
+		if (listings.getIfPresent(aPath) != null) {
+			return Boolean.TRUE;
+		}
+
+		String parent = ZoweUssConnection.getParent(aPath);
+
+		if (parent == null) {
+			return Boolean.TRUE;
+		}
+
+		List<UnixFile> items = listings.getIfPresent(parent);
+
+		if (items == null) {
+			return missing.getIfPresent(parent) != null ? Boolean.FALSE : null;
+		}
+
+		String name = aPath.substring(aPath.lastIndexOf('/') + 1);
+
+		for (UnixFile item : items) {
+			if (name.equals(item.getName())) {
+				return Boolean.TRUE;
+			}
+		}
+
+		return Boolean.FALSE;
+	}
+
+	/**
+	 * @return the entry of a path in the fresh listing of its parent or <code>null</code>
+	 */
+	UnixFile getFile(String aPath) {
+		String parent = ZoweUssConnection.getParent(aPath);
+		List<UnixFile> items = parent == null ? null : listings.getIfPresent(parent);
+
+		if (items != null) {
+			String name = aPath.substring(aPath.lastIndexOf('/') + 1);
+
+			for (UnixFile item : items) {
+				if (name.equals(item.getName())) {
+					return item;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Invalidates the entries of a path which has been written, the link targets below it, the listing
+	 * of its parent and the missing entries of its ancestors.
+	 * @param tree whether the entries below the path are invalidated as well
+	 */
+	void invalidate(String aPath, boolean tree) {
+		Predicate<String> affected = tree ? below(aPath) : aPath::equals;
+
+		listings.asMap().keySet().removeIf(affected);
+		missing.asMap().keySet().removeIf(affected);
+		linkTargets.asMap().keySet().removeIf(below(aPath));
+
+		String parent = ZoweUssConnection.getParent(aPath);
+
+		if (parent != null) {
+			listings.invalidate(parent);
+		}
+
+		// A path which has been written has existing ancestors
+		for (String p = parent; p != null; p = ZoweUssConnection.getParent(p)) {
+			missing.invalidate(p);
+		}
+	}
+
+	void clear() {
+		listings.invalidateAll();
+		missing.invalidateAll();
+		linkTargets.invalidateAll();
+	}
+
+	/**
+	 * @return a predicate matching a path and all paths below it
+	 */
+	static Predicate<String> below(String aPath) {
+		String prefix = aPath.endsWith("/") ? aPath : aPath + "/";
+
+		return p -> p.equals(aPath) || p.startsWith(prefix);
+	}
+}
@@ -0,0 +1,375 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+import zowe.client.sdk.core.ZosConnection;
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosfiles.uss.methods.UssDelete;
+import zowe.client.sdk.zosfiles.uss.methods.UssMove;
+import zowe.client.sdk.zosfiles.uss.model.UnixFile;
+
+/**
+ * Transfers binary USS files in chunks. Downloads fetch byte ranges in parallel into a partial file and
+ * record the CRC32 of every completed chunk in a state file next to it, so an interrupted download
+ * continues with the missing chunks. Uploads go to a temporary file in the target directory which
+ * replaces the target when it is complete.
+ */
+class UssChunkedTransfer {
+	private static final Logger LOG = LoggerFactory.getLogger(UssChunkedTransfer.class);
+
+	static final int CHUNK_SIZE = 8 * 1024 * 1024;
+	static final int RETRIES = 3;
+
+	static final String PART = ".part";
+	static final String STATE = ".chunks";
+
+	private final ZoweUssConnection ussConnection;
+	private final ZosConnection connection;
+
+	UssChunkedTransfer(ZoweUssConnection ussConnection, ZosConnection connection) {
+		this.ussConnection = ussConnection;
+		this.connection = connection;
+	}
+
+	UssTransfer download(String aPath, File target, int chunkSize) throws ConnectionException {
+		UnixFile file = stat(aPath);
+
+		long size = file.getSize() == null ? 0 : file.getSize();
+		int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+		UssTransfer result = new UssTransfer(aPath, size, chunks);
+
+		File part = new File(target.getPath() + PART);
+		File stateFile = new File(target.getPath() + STATE);
+
+		Properties state = loadState(stateFile, file, chunkSize);
+		ConnectionException error = null;
+
+		try {
+			FileUtils.forceMkdir(target.getAbsoluteFile().getParentFile());
+
+			try (FileChannel fc = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				if (state.isEmpty()) {
+					fc.truncate(0);
+
+					state.setProperty("size", String.valueOf(size));
+					state.setProperty("mtime", String.valueOf(file.getMtime()));
+					state.setProperty("chunk", String.valueOf(chunkSize));
+				}
+
+				List<Integer> missing = new ArrayList<>();
+
+				for (int i = 0; i < chunks; ++i) {
+					long offset = (long) i * chunkSize;
+					long length = Math.min(chunkSize, size - offset);
+
+					if (Long.toHexString(crc(fc, offset, length)).equals(state.getProperty("c." + i))) {
+						result.resumed();
+					} else {
+						missing.add(i);
+					}
+				}
+
+				if (size > 0 && !missing.isEmpty()) {
+					if (isRangeSupported(aPath)) {
+						error = downloadChunks(aPath, fc, chunkSize, size, missing, state, stateFile, result);
+					} else {
+						LOG.debug("{} doesn't support ranges, downloading {} at once", connection.getHost(), aPath);
+
+						fc.truncate(0);
+						result.add(new UssStreamRequest(connection, aPath, true).download(Channels.newOutputStream(fc), null));
+					}
+				}
+
+				fc.force(true);
+			}
+
+			if (error == null) {
+				move(part, target);
+
+				FileUtils.deleteQuietly(stateFile);
+			}
+		} catch (IOException | ZosmfRequestException e) {
+			error = new ConnectionException(e);
+		}
+
+		result.finish(error);
+
+		LOG.debug("download {}", result);
+
+		return result;
+	}
+
+	UssTransfer upload(File source, String aPath) throws ConnectionException {
+		int i = aPath.lastIndexOf('/');
+		String tmp = String.format("%s/.%s%s", aPath.substring(0, Math.max(0, i)), aPath.substring(i + 1), PART);
+
+		UssTransfer result = new UssTransfer(aPath, source.length(), 1);
+		ConnectionException error = null;
+
+		for (int attempt = 0; attempt < RETRIES; ++attempt) {
+			error = null;
+
+			try (InputStream is = new BufferedInputStream(new FileInputStream(source), TranscodingInputStream.BUFFER_SIZE)) {
+				UssStreamRequest request = new UssStreamRequest(connection, tmp, true);
+				request.setBody(is);
+				request.executeRequest();
+
+				ussConnection.invalidate(tmp, false);
+
+				long size = stat(tmp).getSize();
+
+				if (size != source.length()) {
+					throw new IOException(String.format("%s has %d bytes instead of %d", tmp, size, source.length()));
+				}
+
+				new UssMove(connection).move(tmp, aPath, true);
+
+				ussConnection.invalidate(aPath, true);
+
+				result.add(size);
+
+				break;
+			} catch (IOException | ZosmfRequestException e) {
+				LOG.debug("Upload of {} failed, attempt {}", aPath, attempt + 1, e);
+
+				error = new ConnectionException(e);
+			}
+		}
+
+		if (error != null) {
+			try {
+				new UssDelete(connection).delete(tmp, false);
+			} catch (ZosmfRequestException e) {
+				LOG.debug("Cannot delete {}", tmp, e);
+			}
+		}
+
+		result.finish(error);
+
+		LOG.debug("upload {}", result);
+
+		return result;
+	}
+
+	private ConnectionException downloadChunks(String aPath, FileChannel fc, int chunkSize, long size, List<Integer> missing, Properties state, File stateFile, UssTransfer result) {
+		List<Callable<Void>> tasks = new ArrayList<>(missing.size());
+
+		for (int i : missing) {
+			tasks.add(() -> {
+				long offset = (long) i * chunkSize;
+				long length = Math.min(chunkSize, size - offset);
+
+				String crc = downloadChunk(aPath, fc, offset, length);
+
+				synchronized (state) {
+					state.setProperty("c." + i, crc);
+
+					saveState(stateFile, state);
+				}
+
+				result.add(length);
+
+				return null;
+			});
+		}
+
+		ConnectionException error = null;
+
+		for (Future<Void> f : ussConnection.getPool().invokeAll(tasks)) {
+			try {
+				f.get();
+			} catch (ExecutionException e) {
+				error = new ConnectionException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				error = new ConnectionException(e);
+			}
+		}
+
+		return error;
+	}
+
+	private String downloadChunk(String aPath, FileChannel fc, long offset, long length) throws IOException, ZosmfRequestException {
+		for (int attempt = 1;; ++attempt) {
+			CRC32 crc = new CRC32();
+
+			try {
+				UssStreamRequest request = new UssStreamRequest(connection, aPath, true);
+				request.setRange(offset, offset + length - 1);
+
+				long n = request.download(new ChunkOutputStream(fc, offset, crc), null);
+
+				if (request.getStatus() != 206 || n != length) {
+					throw new IOException(String.format("Invalid chunk %d-%d of %s, status %d, %d bytes", offset, offset + length - 1, aPath, request.getStatus(), n));
+				}
+
+				return Long.toHexString(crc.getValue());
+			} catch (IOException | ZosmfRequestException e) {
+				if (attempt == RETRIES) {
+					throw e;
+				}
+
+				LOG.debug("Chunk {} of {} failed, attempt {}", offset, aPath, attempt, e);
+			}
+		}
+	}
+
+	private boolean isRangeSupported(String aPath) throws IOException, ZosmfRequestException {
+		UssStreamRequest request = new UssStreamRequest(connection, aPath, true);
+		request.setRange(0, 0);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		request.download(baos, null);
+
+		return request.getStatus() == 206 && baos.size() == 1;
+	}
+
+	/**
+	 * @return the current metadata of a file, bypassing the cache
+	 */
+	private UnixFile stat(String aPath) throws ConnectionException {
+		String path = ZoweUssConnection.normalizePath(aPath);
+		UnixFile f = ussConnection.stat(Collections.singletonList(path), false).get(path);
+
+		if (f == null || f.getMode() == null || f.getMode().startsWith("d")) {
+			throw new ConnectionException(aPath + " is not a file");
+		}
+
+		return f;
+	}
+
+	/**
+	 * @return the state of a previous download of the same version of the file or an empty state
+	 */
+	private static Properties loadState(File stateFile, UnixFile file, int chunkSize) {
+		Properties state = new Properties();
+
+		if (stateFile.isFile()) {
+			try (InputStream is = new FileInputStream(stateFile)) {
+				state.load(is);
+			} catch (IOException e) {
+				LOG.debug("Cannot load {}", stateFile, e);
+			}
+
+			if (!String.valueOf(file.getSize()).equals(state.getProperty("size")) || !String.valueOf(file.getMtime()).equals(state.getProperty("mtime")) || !String.valueOf(chunkSize).equals(state.getProperty("chunk"))) {
+				state.clear();
+			}
+		}
+
+		return state;
+	}
+
+	private static void saveState(File stateFile, Properties state) throws IOException {
+		File tmp = new File(stateFile.getPath() + ".tmp");
+
+		try (OutputStream os = new FileOutputStream(tmp)) {
+			state.store(os, null);
+		}
+
+		move(tmp, stateFile);
+	}
+
+	private static long crc(FileChannel fc, long offset, long length) throws IOException {
+		if (offset + length > fc.size()) {
+			return -1;
+		}
+
+		CRC32 crc = new CRC32();
+		ByteBuffer bb = ByteBuffer.allocate(TranscodingInputStream.BUFFER_SIZE);
+
+		for (long pos = offset; pos < offset + length;) {
+			bb.clear();
+			bb.limit((int) Math.min(bb.capacity(), offset + length - pos));
+
+			int n = fc.read(bb, pos);
+
+			if (n < 0) {
+				return -1;
+			}
+
+			crc.update(bb.array(), 0, n);
+			pos += n;
+		}
+
+		return crc.getValue();
+	}
+
+	private static void move(File from, File to) throws IOException {
+		try {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Writes a chunk at its offset. Chunks are written concurrently to the same channel.
+	 */
+	private static final class ChunkOutputStream extends OutputStream {
+		private final FileChannel fc;
+		private final CRC32 crc;
+
+		private long position;
+
+		private ChunkOutputStream(FileChannel fc, long position, CRC32 crc) {
+			this.fc = fc;
+			this.position = position;
+			this.crc = crc;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			ByteBuffer bb = ByteBuffer.wrap(b, off, len);
+
+			while (bb.hasRemaining()) {
+				position += fc.write(bb, position);
+			}
+
+			crc.update(b, off, len);
+		}
+	}
+}
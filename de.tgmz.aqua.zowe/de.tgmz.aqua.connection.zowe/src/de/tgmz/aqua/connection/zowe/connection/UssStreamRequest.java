@@ -0,0 +1,180 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+import kong.unirest.core.HttpRequest;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.RawResponse;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestException;
+import zowe.client.sdk.core.ZosConnection;
+import zowe.client.sdk.rest.Response;
+import zowe.client.sdk.rest.ZosmfRequest;
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.utility.EncodeUtils;
+import zowe.client.sdk.utility.FileUtils;
+import zowe.client.sdk.zosfiles.ZosFilesConstants;
+
+/**
+ * Transfers the content of a USS file as a stream. The requests of the SDK hold the complete content in memory.
+ */
+class UssStreamRequest extends ZosmfRequest {
+	static final String DATA_TYPE = "X-IBM-Data-Type";
+
+	private static final String CONTENT_TYPE = "Content-Type";
+
+	private InputStream body;
+	private int status;
+
+	UssStreamRequest(ZosConnection connection, String aPath, boolean binary) {
+		super(connection);
+
+		setUrl(connection.getZosmfUrl() + ZosFilesConstants.RESOURCE + ZosFilesConstants.RES_USS_FILES + EncodeUtils.encodeURIComponent(FileUtils.validatePath(aPath)));
+
+		headers.put(DATA_TYPE, binary ? "binary" : "text");
+		headers.put(CONTENT_TYPE, binary ? "application/octet-stream" : "text/plain; charset=UTF-8");
+	}
+
+	@Override
+	public void setStandardHeaders() {
+		headers.put(X_CSRF_ZOSMF_HEADER_KEY, X_CSRF_ZOSMF_HEADER_VALUE);
+	}
+
+	/**
+	 * Requests a byte range of the file. Servers ignoring the range return the complete file.
+	 * @param first the offset of the first byte
+	 * @param last the offset of the last byte, inclusive
+	 */
+	void setRange(long first, long last) {
+		headers.put("Range", String.format("bytes=%d-%d", first, last));
+	}
+
+	/**
+	 * @return the status of the last download, 206 if a range was returned
+	 */
+	int getStatus() {
+		return status;
+	}
+
+	/**
+	 * @param aBody the content to upload, it is read when the request is executed
+	 */
+	@Override
+	public void setBody(Object aBody) {
+		this.body = (InputStream) aBody;
+	}
+
+	/**
+	 * Uploads the body.
+	 */
+	@Override
+	public Response executeRequest() throws ZosmfRequestException {
+		try {
+			return buildResponse(withToken(Unirest.put(url)).headers(headers).body(body).asString());
+		} catch (UnirestException e) {
+			throw new ZosmfRequestException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Downloads the file into a stream. Text is converted from the charset of the response.
+	 * @param os the target
+	 * @param charset the charset of the text written to the target, ignored for binary files
+	 * @return the number of bytes written
+	 */
+	long download(OutputStream os, Charset charset) throws ZosmfRequestException, IOException {
+		boolean binary = "binary".equals(headers.get(DATA_TYPE));
+		long[] count = new long[1];
+
+		HttpResponse<String> response;
+
+		try {
+			response = withToken(Unirest.get(url)).headers(headers).asObject(raw -> {
+				status = raw.getStatus();
+
+				if (status >= 300) {
+					return raw.getContentAsString();
+				}
+
+				try (InputStream is = binary ? raw.getContent() : transcode(raw, charset)) {
+					count[0] = copy(is, os);
+
+					return "";
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UnirestException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+
+			throw new ZosmfRequestException(e.getMessage(), e);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		// Throws for error responses
+		buildResponse(response);
+
+		return count[0];
+	}
+
+	static long copy(InputStream is, OutputStream os) throws IOException {
+		byte[] buffer = new byte[TranscodingInputStream.BUFFER_SIZE];
+		long result = 0;
+
+		for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+			os.write(buffer, 0, n);
+
+			result += n;
+		}
+
+		return result;
+	}
+
+	private <R extends HttpRequest<R>> R withToken(R request) {
+		return token == null ? request : request.cookie(token);
+	}
+
+	private static InputStream transcode(RawResponse raw, Charset charset) {
+		Charset from = getCharset(raw.getContentType());
+
+		return TranscodingInputStream.of(raw.getContent(), from, charset);
+	}
+
+	private static Charset getCharset(String contentType) {
+		if (contentType != null) {
+			for (String s : contentType.split(";")) {
+				String p = s.trim();
+
+				if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+					try {
+						return Charset.forName(p.substring(8).replace("\"", ""));
+					} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+						break;
+					}
+				}
+			}
+		}
+
+		return StandardCharsets.UTF_8;
+	}
+}
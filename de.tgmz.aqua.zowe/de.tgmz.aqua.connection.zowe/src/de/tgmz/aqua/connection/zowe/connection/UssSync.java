@@ -0,0 +1,574 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.core.comm.ConnectionException;
+import com.ibm.cics.zos.comm.IZOSConstants.FileType;
+
+import zowe.client.sdk.zosfiles.uss.model.UnixFile;
+
+/**
+ * Synchronizes a local directory with a USS directory. Both trees are compared by size and modification
+ * time and, optionally, by the SHA-256 of the content of files with equal size. The resulting plan is
+ * executed on the pool of the connection: directories level by level, then all transfers, then deletes.
+ * Files are transferred in binary. Symlinks are ignored.
+ * <pre>
+ * UssSyncResult result = connection.syncHFS(new File("app"), "/u/app").direction(Direction.UPLOAD).delete(true).sync();
+ * </pre>
+ */
+public class UssSync {
+	private static final Logger LOG = LoggerFactory.getLogger(UssSync.class);
+
+	/** z/OSMF reports modification times in seconds */
+	static final long MTIME_TOLERANCE = 2_000L;
+
+	public enum Direction {
+		/** Local changes are uploaded */
+		UPLOAD,
+		/** Remote changes are downloaded */
+		DOWNLOAD,
+		/** The newer side wins */
+		BOTH
+	}
+
+	public enum Operation {
+		MKDIR_REMOTE, MKDIR_LOCAL, UPLOAD, DOWNLOAD, DELETE_REMOTE, DELETE_LOCAL
+	}
+
+	/**
+	 * A step of the plan.
+	 */
+	public static final class Action {
+		private final Operation operation;
+		private final String path;
+		private final long size;
+
+		private Action(Operation operation, String path, long size) {
+			this.operation = operation;
+			this.path = path;
+			this.size = size;
+		}
+
+		public Operation getOperation() {
+			return operation;
+		}
+
+		/**
+		 * @return the path relative to the synchronized directories, separated by <code>/</code>
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * @return the number of bytes to transfer
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			return operation + " " + path;
+		}
+	}
+
+	private static final class Entry {
+		private final boolean directory;
+		private final long size;
+		private final long mtime;
+
+		private Entry(boolean directory, long size, long mtime) {
+			this.directory = directory;
+			this.size = size;
+			this.mtime = mtime;
+		}
+	}
+
+	private final ZoweUssConnection ussConnection;
+	private final File local;
+	private final String remote;
+
+	private Direction direction = Direction.BOTH;
+	private boolean delete;
+	private boolean hash;
+	private boolean dryRun;
+
+	private Map<String, Entry> remoteEntries;
+
+	UssSync(ZoweUssConnection ussConnection, File local, String remote) {
+		this.ussConnection = ussConnection;
+		this.local = local;
+		this.remote = remote;
+	}
+
+	public UssSync direction(Direction aDirection) {
+		this.direction = aDirection;
+
+		return this;
+	}
+
+	/**
+	 * @param aDelete whether entries missing on the source side are deleted on the target side,
+	 * ignored for {@link Direction#BOTH}
+	 */
+	public UssSync delete(boolean aDelete) {
+		this.delete = aDelete;
+
+		return this;
+	}
+
+	/**
+	 * @param aHash whether files with equal size but different modification time are compared by content
+	 * before they are transferred. This reads the remote file but avoids writing an unchanged one.
+	 */
+	public UssSync hash(boolean aHash) {
+		this.hash = aHash;
+
+		return this;
+	}
+
+	/**
+	 * @param aDryRun whether the plan is computed only
+	 */
+	public UssSync dryRun(boolean aDryRun) {
+		this.dryRun = aDryRun;
+
+		return this;
+	}
+
+	/**
+	 * Compares the trees and executes the plan. Failed actions are reported in the result and don't stop the others.
+	 */
+	public UssSyncResult sync() throws ConnectionException {
+		LOG.debug("sync {} {} {}", local, remote, direction);
+
+		UssSyncResult result = new UssSyncResult(dryRun);
+
+		UnixFile root = ussConnection.statHFS(remote);
+
+		if (root != null && !root.getMode().startsWith("d")) {
+			throw new ConnectionException(remote + " is not a directory");
+		}
+
+		if (root == null && direction == Direction.DOWNLOAD) {
+			throw new ConnectionException(remote + " doesn't exist");
+		}
+
+		if (!local.isDirectory() && (local.exists() || direction == Direction.UPLOAD)) {
+			throw new ConnectionException(local + " is not a directory");
+		}
+
+		remoteEntries = root == null ? Collections.emptyMap() : listRemote();
+
+		plan(listLocal(), result);
+
+		if (!dryRun) {
+			execute(result, root != null);
+		}
+
+		result.finish();
+
+		LOG.debug("sync {} {} {}", local, remote, result);
+
+		return result;
+	}
+
+	private void plan(Map<String, Entry> localEntries, UssSyncResult result) {
+		Set<String> paths = new TreeSet<>(localEntries.keySet());
+		paths.addAll(remoteEntries.keySet());
+
+		Set<String> deleted = new HashSet<>();
+		List<String> compare = new ArrayList<>();
+
+		for (String p : paths) {
+			if (isBelow(p, deleted)) {
+				continue;
+			}
+
+			Entry l = localEntries.get(p);
+			Entry r = remoteEntries.get(p);
+
+			if (l != null && r != null) {
+				if (l.directory != r.directory) {
+					result.error(p, new ConnectionException(p + " is a directory on one side only"));
+				} else if (!l.directory && !isSame(l, r)) {
+					if (hash && l.size == r.size) {
+						compare.add(p);
+					} else {
+						result.plan(transfer(p, l, r));
+					}
+				}
+			} else if (l != null) {
+				if (direction != Direction.DOWNLOAD) {
+					result.plan(new Action(l.directory ? Operation.MKDIR_REMOTE : Operation.UPLOAD, p, l.directory ? 0 : l.size));
+				} else if (delete) {
+					result.plan(new Action(Operation.DELETE_LOCAL, p, 0));
+					deleted.add(p);
+				}
+			} else {
+				if (direction != Direction.UPLOAD) {
+					result.plan(new Action(r.directory ? Operation.MKDIR_LOCAL : Operation.DOWNLOAD, p, r.directory ? 0 : r.size));
+				} else if (delete) {
+					result.plan(new Action(Operation.DELETE_REMOTE, p, 0));
+					deleted.add(p);
+				}
+			}
+		}
+
+		compare(compare, localEntries, result);
+	}
+
+	/**
+	 * Compares files of equal size by content in parallel. Equal files get the remote modification time
+	 * locally, so the next synchronization doesn't compare them again.
+	 */
+	private void compare(List<String> paths, Map<String, Entry> localEntries, UssSyncResult result) {
+		List<Callable<Action>> tasks = new ArrayList<>(paths.size());
+
+		for (String p : paths) {
+			tasks.add(() -> {
+				try {
+					if (!isEqual(p)) {
+						return transfer(p, localEntries.get(p), remoteEntries.get(p));
+					}
+
+					if (!dryRun && !localFile(p).setLastModified(remoteEntries.get(p).mtime)) {
+						LOG.debug("Cannot set modification time of {}", p);
+					}
+				} catch (ConnectionException e) {
+					result.error(p, e);
+				} catch (IOException e) {
+					result.error(p, new ConnectionException(e));
+				}
+
+				return null;
+			});
+		}
+
+		for (Action a : invokeAll(tasks)) {
+			if (a != null) {
+				result.plan(a);
+			}
+		}
+	}
+
+	private void execute(UssSyncResult result, boolean remoteExists) throws ConnectionException {
+		List<Action> plan = result.getPlan();
+
+		if (plan.isEmpty()) {
+			return;
+		}
+
+		Map<Integer, List<Action>> mkdirs = new TreeMap<>();
+		List<Action> transfers = new ArrayList<>();
+		List<Action> deletes = new ArrayList<>();
+
+		for (Action a : plan) {
+			switch (a.getOperation()) {
+			case MKDIR_REMOTE:
+			case MKDIR_LOCAL:
+				mkdirs.computeIfAbsent(depth(a.getPath()), k -> new ArrayList<>()).add(a);
+				break;
+			case UPLOAD:
+			case DOWNLOAD:
+				transfers.add(a);
+				break;
+			default:
+				deletes.add(a);
+			}
+		}
+
+		if (!remoteExists) {
+			ussConnection.createFolderHFS(remote);
+		}
+
+		try {
+			Files.createDirectories(local.toPath());
+		} catch (IOException e) {
+			throw new ConnectionException(e);
+		}
+
+		for (List<Action> level : mkdirs.values()) {
+			run(level, result);
+		}
+
+		List<String> uploaded = run(transfers, result);
+
+		stamp(uploaded);
+
+		run(deletes, result);
+	}
+
+	/**
+	 * Runs actions in parallel.
+	 * @return the remote paths of the files uploaded successfully
+	 */
+	private List<String> run(List<Action> actions, UssSyncResult result) {
+		List<Callable<String>> tasks = new ArrayList<>(actions.size());
+
+		for (Action a : actions) {
+			tasks.add(() -> {
+				try {
+					result.completed(a, execute(a));
+
+					return a.getOperation() == Operation.UPLOAD ? remotePath(a.getPath()) : null;
+				} catch (ConnectionException e) {
+					result.error(a.getPath(), e);
+				} catch (IOException e) {
+					result.error(a.getPath(), new ConnectionException(e));
+				}
+
+				return null;
+			});
+		}
+
+		List<String> uploaded = new ArrayList<>();
+
+		for (String s : invokeAll(tasks)) {
+			if (s != null) {
+				uploaded.add(s);
+			}
+		}
+
+		return uploaded;
+	}
+
+	/**
+	 * @return the number of bytes transferred
+	 */
+	private long execute(Action a) throws ConnectionException, IOException {
+		String p = a.getPath();
+		File f = localFile(p);
+
+		switch (a.getOperation()) {
+		case MKDIR_REMOTE:
+			ussConnection.createFolderHFS(remotePath(p));
+
+			return 0;
+		case MKDIR_LOCAL:
+			Files.createDirectories(f.toPath());
+
+			return 0;
+		case UPLOAD:
+			try (InputStream is = new BufferedInputStream(new FileInputStream(f), TranscodingInputStream.BUFFER_SIZE)) {
+				ussConnection.saveFileHFS(remotePath(p), is, FileType.BINARY);
+			}
+
+			return f.length();
+		case DOWNLOAD:
+			File part = new File(f.getPath() + UssChunkedTransfer.PART);
+			long n;
+
+			try (OutputStream os = new BufferedOutputStream(new FileOutputStream(part), TranscodingInputStream.BUFFER_SIZE)) {
+				n = ussConnection.getFileHFS(remotePath(p), FileType.BINARY, os);
+			}
+
+			Files.move(part.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			if (!f.setLastModified(remoteEntries.get(p).mtime)) {
+				LOG.debug("Cannot set modification time of {}", f);
+			}
+
+			return n;
+		case DELETE_REMOTE:
+			ussConnection.deletePathHFS(remotePath(p));
+
+			return 0;
+		default:
+			FileUtils.forceDelete(f);
+
+			return 0;
+		}
+	}
+
+	/**
+	 * Gives uploaded files the modification time of their remote copy, which can't be set.
+	 */
+	private void stamp(List<String> uploaded) {
+		if (uploaded.isEmpty()) {
+			return;
+		}
+
+		try {
+			for (Map.Entry<String, UnixFile> e : ussConnection.statHFS(uploaded).entrySet()) {
+				File f = localFile(e.getKey().substring(remote.length() + ("/".equals(remote) ? 0 : 1)));
+
+				if (!f.setLastModified(ZoweUssConnection.getMTime(e.getValue()).getTimeInMillis())) {
+					LOG.debug("Cannot set modification time of {}", f);
+				}
+			}
+		} catch (ConnectionException e) {
+			LOG.warn("Cannot get modification times of uploaded files", e);
+		}
+	}
+
+	private Map<String, Entry> listRemote() throws ConnectionException {
+		Map<String, Entry> result = new TreeMap<>();
+		int offset = remote.length() + ("/".equals(remote) ? 0 : 1);
+
+		UssWalkResult walk = ussConnection.walkHFS(remote).walk((path, file) -> {
+			if (file.getMode().startsWith("l")) {
+				LOG.debug("Ignoring symlink {}", path);
+			} else {
+				result.put(path.substring(offset), new Entry(file.getMode().startsWith("d"), file.getSize() == null ? 0 : file.getSize(), ZoweUssConnection.getMTime(file).getTimeInMillis()));
+			}
+
+			return true;
+		});
+
+		// An incomplete tree would result in wrong deletes and downloads
+		if (!walk.isComplete()) {
+			throw new ConnectionException("Cannot list " + walk.getErrors().keySet());
+		}
+
+		return result;
+	}
+
+	private Map<String, Entry> listLocal() throws ConnectionException {
+		Map<String, Entry> result = new TreeMap<>();
+
+		if (!local.isDirectory()) {
+			return result;
+		}
+
+		Path root = local.toPath();
+
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path p : (Iterable<Path>) paths::iterator) {
+				BasicFileAttributes attributes = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+
+				if (p.equals(root) || attributes.isSymbolicLink()) {
+					continue;
+				}
+
+				result.put(root.relativize(p).toString().replace(File.separatorChar, '/'), new Entry(attributes.isDirectory(), attributes.size(), attributes.lastModifiedTime().toMillis()));
+			}
+		} catch (IOException | UncheckedIOException e) {
+			throw new ConnectionException(e);
+		}
+
+		return result;
+	}
+
+	private boolean isEqual(String p) throws ConnectionException, IOException {
+		MessageDigest localDigest = sha256();
+		MessageDigest remoteDigest = sha256();
+
+		try (InputStream is = new FileInputStream(localFile(p)); OutputStream os = new DigestOutputStream(NullOutputStream.NULL_OUTPUT_STREAM, localDigest)) {
+			UssStreamRequest.copy(is, os);
+		}
+
+		try (OutputStream os = new DigestOutputStream(NullOutputStream.NULL_OUTPUT_STREAM, remoteDigest)) {
+			ussConnection.getFileHFS(remotePath(p), FileType.BINARY, os);
+		}
+
+		return MessageDigest.isEqual(localDigest.digest(), remoteDigest.digest());
+	}
+
+	private Action transfer(String p, Entry l, Entry r) {
+		boolean upload = direction == Direction.UPLOAD || direction == Direction.BOTH && l.mtime > r.mtime;
+
+		return upload ? new Action(Operation.UPLOAD, p, l.size) : new Action(Operation.DOWNLOAD, p, r.size);
+	}
+
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+		List<T> result = new ArrayList<>(tasks.size());
+
+		for (Future<T> f : ussConnection.getPool().invokeAll(tasks)) {
+			try {
+				result.add(f.get());
+			} catch (ExecutionException e) {
+				LOG.warn("Task failed", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	private String remotePath(String p) {
+		return "/".equals(remote) ? "/" + p : remote + "/" + p;
+	}
+
+	private File localFile(String p) {
+		return new File(local, p.replace('/', File.separatorChar));
+	}
+
+	private static boolean isSame(Entry l, Entry r) {
+		return l.size == r.size && Math.abs(l.mtime - r.mtime) < MTIME_TOLERANCE;
+	}
+
+	private static boolean isBelow(String p, Set<String> dirs) {
+		for (int i = p.lastIndexOf('/'); i > 0; i = p.lastIndexOf('/', i - 1)) {
+			if (dirs.contains(p.substring(0, i))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static int depth(String p) {
+		int result = 0;
+
+		for (int i = p.indexOf('/'); i >= 0; i = p.indexOf('/', i + 1)) {
+			++result;
+		}
+
+		return result;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
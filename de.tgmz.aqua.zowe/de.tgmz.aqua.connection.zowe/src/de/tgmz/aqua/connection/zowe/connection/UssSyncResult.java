@@ -0,0 +1,117 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a synchronization of a local and a USS directory: the plan and, unless it was a dry run,
+ * the outcome of its execution.
+ */
+public class UssSyncResult {
+	private final long start = System.nanoTime();
+	private final boolean dryRun;
+
+	private final List<UssSync.Action> plan = new ArrayList<>();
+	private final Map<UssSync.Operation, Integer> completed = new EnumMap<>(UssSync.Operation.class);
+	private final Map<String, ConnectionException> errors = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private long bytes;
+	private long end;
+
+	UssSyncResult(boolean dryRun) {
+		this.dryRun = dryRun;
+	}
+
+	public boolean isDryRun() {
+		return dryRun;
+	}
+
+	/**
+	 * @return the actions needed to synchronize the directories, parents before children
+	 */
+	public synchronized List<UssSync.Action> getPlan() {
+		return new ArrayList<>(plan);
+	}
+
+	/**
+	 * @return the number of actions executed successfully
+	 */
+	public synchronized int getCompleted() {
+		int result = 0;
+
+		for (int n : completed.values()) {
+			result += n;
+		}
+
+		return result;
+	}
+
+	public synchronized int getCompleted(UssSync.Operation op) {
+		return completed.getOrDefault(op, 0);
+	}
+
+	/**
+	 * @return the number of bytes uploaded and downloaded
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public synchronized long getMillis() {
+		return ((end == 0 ? System.nanoTime() : end) - start) / 1_000_000L;
+	}
+
+	public long getBytesPerSecond() {
+		return getBytes() * 1_000L / Math.max(1L, getMillis());
+	}
+
+	public boolean isComplete() {
+		return errors.isEmpty() && (dryRun || getCompleted() == getPlan().size());
+	}
+
+	/**
+	 * @return the relative paths which couldn't be compared or synchronized
+	 */
+	public Map<String, ConnectionException> getErrors() {
+		synchronized (errors) {
+			return new LinkedHashMap<>(errors);
+		}
+	}
+
+	synchronized void plan(UssSync.Action action) {
+		plan.add(action);
+	}
+
+	synchronized void completed(UssSync.Action action, long aBytes) {
+		completed.merge(action.getOperation(), 1, Integer::sum);
+		bytes += aBytes;
+	}
+
+	void error(String path, ConnectionException e) {
+		errors.put(path, e);
+	}
+
+	synchronized void finish() {
+		end = System.nanoTime();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s%d actions, %d completed, %d bytes in %d ms (%d bytes/s)%s", dryRun ? "Dry run: " : "", getPlan().size(), getCompleted(), getBytes(), getMillis(), getBytesPerSecond(), errors.isEmpty() ? "" : ", " + errors.size() + " errors");
+	}
+}
@@ -0,0 +1,98 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a chunked transfer of a USS file. A failed download is resumed by downloading
+ * to the same target again, chunks already on disk are verified and kept.
+ */
+public class UssTransfer {
+	private final String path;
+	private final long size;
+	private final int chunks;
+	private final long start = System.nanoTime();
+
+	private long bytes;
+	private int resumed;
+	private long end;
+
+	private ConnectionException error;
+
+	UssTransfer(String path, long size, int chunks) {
+		this.path = path;
+		this.size = size;
+		this.chunks = chunks;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public int getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * @return the number of chunks kept from a previous attempt
+	 */
+	public synchronized int getResumedChunks() {
+		return resumed;
+	}
+
+	/**
+	 * @return the number of bytes transferred by this attempt
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public synchronized long getMillis() {
+		return ((end == 0 ? System.nanoTime() : end) - start) / 1_000_000L;
+	}
+
+	public long getBytesPerSecond() {
+		return getBytes() * 1_000L / Math.max(1L, getMillis());
+	}
+
+	public synchronized boolean isComplete() {
+		return end != 0 && error == null;
+	}
+
+	/**
+	 * @return the reason why the transfer failed or <code>null</code>
+	 */
+	public synchronized ConnectionException getError() {
+		return error;
+	}
+
+	synchronized void add(long aBytes) {
+		bytes += aBytes;
+	}
+
+	synchronized void resumed() {
+		++resumed;
+	}
+
+	synchronized void finish(ConnectionException anError) {
+		end = System.nanoTime();
+		error = anError;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d of %d bytes, %d chunks (%d resumed) in %d ms (%d bytes/s)%s", path, getBytes(), size, chunks, getResumedChunks(), getMillis(), getBytesPerSecond(), error == null ? "" : ", " + error.getMessage());
+	}
+}
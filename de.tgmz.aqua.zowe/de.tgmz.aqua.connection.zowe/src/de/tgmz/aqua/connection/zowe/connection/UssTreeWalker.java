@@ -0,0 +1,306 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.cics.common.util.StringUtil;
+import com.ibm.cics.core.comm.ConnectionException;
+
+import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosfiles.uss.model.UnixFile;
+
+/**
+ * Walks a USS tree. Directories are listed {@link #LIST_DEPTH} levels at a time and the subdirectories
+ * found are listed in parallel on the pool of the connection. Entries are passed to the visitor as soon
+ * as their directory is listed, so the order of the entries is undefined. Symlinks are reported but
+ * not followed.
+ * <pre>
+ * connection.walkHFS("/u/foo").name("*.java").maxDepth(5).walk((path, file) -&gt; ...);
+ * </pre>
+ */
+public class UssTreeWalker {
+	private static final Logger LOG = LoggerFactory.getLogger(UssTreeWalker.class);
+
+	/** Number of levels listed by a single request */
+	static final int LIST_DEPTH = 2;
+
+	/** Maximum number of entries returned by a single request */
+	static final int MAX_ITEMS = 10_000;
+
+	/**
+	 * Receives the entries of the tree. Calls are serialized, so implementations need not be thread safe.
+	 */
+	@FunctionalInterface
+	public interface Visitor {
+		/**
+		 * @param path the absolute path of the entry
+		 * @param file the entry
+		 * @return <code>false</code> to stop the walk
+		 */
+		boolean visit(String path, UnixFile file);
+	}
+
+	private final ZoweUssConnection ussConnection;
+	private final String root;
+
+	private Pattern name;
+	private long modifiedSince = Long.MIN_VALUE;
+	private long minSize = 0;
+	private long maxSize = Long.MAX_VALUE;
+	private int maxDepth = Integer.MAX_VALUE;
+	private long limit = Long.MAX_VALUE;
+	private boolean directories = true;
+
+	private final AtomicBoolean stopped = new AtomicBoolean();
+
+	private Visitor visitor;
+	private UssWalkResult result;
+
+	UssTreeWalker(ZoweUssConnection ussConnection, String root) {
+		this.ussConnection = ussConnection;
+		this.root = root;
+	}
+
+	/**
+	 * Visits only entries whose name matches a glob pattern with <code>*</code> and <code>?</code>.
+	 * Directories are walked regardless of their name.
+	 */
+	public UssTreeWalker name(String glob) {
+		this.name = glob == null ? null : toPattern(glob);
+
+		return this;
+	}
+
+	/**
+	 * Visits only entries modified at or after a point in time.
+	 */
+	public UssTreeWalker modifiedSince(long millis) {
+		this.modifiedSince = millis;
+
+		return this;
+	}
+
+	/**
+	 * Visits only files within a size range. Directories are not affected.
+	 */
+	public UssTreeWalker size(long min, long max) {
+		this.minSize = min;
+		this.maxSize = max;
+
+		return this;
+	}
+
+	/**
+	 * @param depth the number of levels to walk, 1 visits the children of the root only
+	 */
+	public UssTreeWalker maxDepth(int depth) {
+		this.maxDepth = depth;
+
+		return this;
+	}
+
+	/**
+	 * Stops the walk after a number of visited entries.
+	 */
+	public UssTreeWalker limit(long aLimit) {
+		this.limit = aLimit;
+
+		return this;
+	}
+
+	/**
+	 * @param include whether directories are passed to the visitor, too
+	 */
+	public UssTreeWalker directories(boolean include) {
+		this.directories = include;
+
+		return this;
+	}
+
+	/**
+	 * Walks the tree and returns when all directories are listed or the walk is stopped.
+	 * Directories which cannot be listed or whose listing is truncated at {@link #MAX_ITEMS} entries are
+	 * reported in the result and don't stop the walk.
+	 */
+	public UssWalkResult walk(Visitor aVisitor) throws ConnectionException {
+		LOG.debug("walk {}", root);
+
+		visitor = aVisitor;
+		result = new UssWalkResult();
+		stopped.set(false);
+
+		if (maxDepth > 0) {
+			try {
+				ussConnection.getPool().invoke(new ListTask(root, 0));
+			} catch (RuntimeException e) {
+				throw new ConnectionException(e);
+			}
+		}
+
+		result.finish(stopped.get());
+
+		LOG.debug("walk {} {}", root, result);
+
+		return result;
+	}
+
+	private final class ListTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final String dir;
+		private final int level;
+
+		private ListTask(String dir, int level) {
+			this.dir = dir;
+			this.level = level;
+		}
+
+		@Override
+		protected void compute() {
+			if (stopped.get()) {
+				return;
+			}
+
+			int depth = Math.min(LIST_DEPTH, maxDepth - level);
+			List<UnixFile> items;
+
+			try {
+				items = ussConnection.list(dir, depth, MAX_ITEMS);
+
+				// A truncated multi-level listing is repeated level by level
+				if (items.size() >= MAX_ITEMS && depth > 1) {
+					depth = 1;
+					items = ussConnection.list(dir, depth, MAX_ITEMS);
+				}
+			} catch (ZosmfRequestException e) {
+				result.error(dir, new ConnectionException(e));
+
+				return;
+			}
+
+			result.listed();
+
+			// The SDK doesn't send X-IBM-Max-Items 0, so a full listing is regarded as truncated
+			if (items.size() >= MAX_ITEMS) {
+				LOG.warn("Listing of {} is truncated at {} entries", dir, MAX_ITEMS);
+
+				result.error(dir, new ConnectionException(String.format("Listing of %s is truncated at %d entries", dir, MAX_ITEMS)));
+			}
+
+			List<ListTask> subtasks = new ArrayList<>();
+
+			for (UnixFile item : items) {
+				String itemName = item.getName();
+
+				if (StringUtil.isEmpty(itemName) || StringUtil.isEmpty(item.getMode()) || isSelfOrParent(itemName)) {
+					continue;
+				}
+
+				// Names below the first level are relative paths
+				int itemLevel = level + 1 + count(itemName, '/');
+
+				if (itemLevel > level + depth) {
+					continue;
+				}
+
+				String path = "/".equals(dir) ? "/" + itemName : dir + "/" + itemName;
+				boolean directory = item.getMode().startsWith("d");
+
+				if (directory && itemLevel == level + depth && itemLevel < maxDepth) {
+					subtasks.add(new ListTask(path, itemLevel));
+				}
+
+				if (accept(itemName, item, directory) && !visit(path, item)) {
+					return;
+				}
+			}
+
+			invokeAll(subtasks);
+		}
+	}
+
+	private boolean accept(String itemName, UnixFile item, boolean directory) {
+		if (directory ? !directories : !isSize(item)) {
+			return false;
+		}
+
+		return (name == null || name.matcher(itemName.substring(itemName.lastIndexOf('/') + 1)).matches()) && isModified(item);
+	}
+
+	private boolean isSize(UnixFile item) {
+		long size = item.getSize() == null ? 0 : item.getSize();
+
+		return size >= minSize && size <= maxSize;
+	}
+
+	private boolean isModified(UnixFile item) {
+		return modifiedSince == Long.MIN_VALUE || ZoweUssConnection.getMTime(item).getTimeInMillis() >= modifiedSince;
+	}
+
+	private boolean visit(String path, UnixFile item) {
+		synchronized (this) {
+			if (stopped.get()) {
+				return false;
+			}
+
+			long visited = result.visited();
+
+			if (!visitor.visit(path, item) || visited >= limit) {
+				stopped.set(true);
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isSelfOrParent(String itemName) {
+		String last = itemName.substring(itemName.lastIndexOf('/') + 1);
+
+		return ".".equals(last) || "..".equals(last);
+	}
+
+	private static int count(String s, char c) {
+		int result = 0;
+
+		for (int i = 0; i < s.length(); ++i) {
+			if (s.charAt(i) == c) {
+				++result;
+			}
+		}
+
+		return result;
+	}
+
+	static Pattern toPattern(String glob) {
+		StringBuilder sb = new StringBuilder();
+
+		for (char c : glob.toCharArray()) {
+			if (c == '*') {
+				sb.append(".*");
+			} else if (c == '?') {
+				sb.append('.');
+			} else {
+				sb.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+
+		return Pattern.compile(sb.toString());
+	}
+}
@@ -0,0 +1,87 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ibm.cics.core.comm.ConnectionException;
+
+/**
+ * Result of a walk of a USS tree.
+ */
+public class UssWalkResult {
+	private final long start = System.nanoTime();
+
+	private final Map<String, ConnectionException> errors = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private long visited;
+	private long listed;
+	private long end;
+	private boolean stopped;
+
+	public synchronized long getVisited() {
+		return visited;
+	}
+
+	/**
+	 * @return the number of directory listings requested
+	 */
+	public synchronized long getListed() {
+		return listed;
+	}
+
+	public synchronized long getMillis() {
+		return ((end == 0 ? System.nanoTime() : end) - start) / 1_000_000L;
+	}
+
+	/**
+	 * @return whether the walk was stopped by the visitor or by the limit
+	 */
+	public synchronized boolean isStopped() {
+		return stopped;
+	}
+
+	public boolean isComplete() {
+		return !isStopped() && errors.isEmpty();
+	}
+
+	/**
+	 * @return the directories which couldn't be listed or whose listing is truncated
+	 */
+	public Map<String, ConnectionException> getErrors() {
+		synchronized (errors) {
+			return new LinkedHashMap<>(errors);
+		}
+	}
+
+	synchronized long visited() {
+		return ++visited;
+	}
+
+	synchronized void listed() {
+		++listed;
+	}
+
+	void error(String path, ConnectionException e) {
+		errors.put(path, e);
+	}
+
+	synchronized void finish(boolean aStopped) {
+		end = System.nanoTime();
+		stopped = aStopped;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d entries, %d listings in %d ms%s", getVisited(), getListed(), getMillis(), errors.isEmpty() ? "" : ", " + errors.size() + " errors");
+	}
+}
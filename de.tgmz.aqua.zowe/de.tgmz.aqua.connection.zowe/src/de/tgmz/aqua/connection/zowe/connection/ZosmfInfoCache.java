@@ -0,0 +1,114 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import zowe.client.sdk.zosmfinfo.response.ZosmfInfoResponse;
+
+/**
+ * The last known z/OSMF information by host and port, kept in memory and in a directory private
+ * to the user so it survives a restart.
+ */
+final class ZosmfInfoCache {
+	private static final Logger LOG = LoggerFactory.getLogger(ZosmfInfoCache.class);
+
+	private static final File DIR = new File(System.getProperty("java.io.tmpdir"), "zowe-info-" + SpoolCache.sanitize(System.getProperty("user.name")));
+
+	private static final String[] KEYS = {"zosVersion", "zosmfPort", "zosmfVersion", "zosmfHostName", "zosmfSafRealm", "zosmfFullVersion", "apiVersion"};
+
+	private static final Map<String, ZosmfInfoResponse> INFOS = new ConcurrentHashMap<>();
+
+	private ZosmfInfoCache() {
+	}
+
+	/**
+	 * @return the last known information or <code>null</code>
+	 */
+	static ZosmfInfoResponse get(String host, int port) {
+		return INFOS.computeIfAbsent(key(host, port), ZosmfInfoCache::load);
+	}
+
+	static void put(String host, int port, ZosmfInfoResponse info) {
+		String key = key(host, port);
+
+		INFOS.put(key, info);
+
+		String[] values = {info.getZosVersion(), info.getZosmfPort(), info.getZosmfVersion(), info.getZosmfHostName(), info.getZosmfSafRealm(), info.getZosmfFullVersion(), info.getApiVersion()};
+		Properties p = new Properties();
+
+		for (int i = 0; i < KEYS.length; ++i) {
+			if (values[i] != null) {
+				p.setProperty(KEYS[i], values[i]);
+			}
+		}
+
+		File dir = getDirectory();
+
+		if (dir == null) {
+			return;
+		}
+
+		try (OutputStream os = new FileOutputStream(new File(dir, key + ".properties"))) {
+			p.store(os, null);
+		} catch (IOException e) {
+			LOG.warn("Cannot save z/OSMF information of {}", key, e);
+		}
+	}
+
+	private static ZosmfInfoResponse load(String key) {
+		File dir = getDirectory();
+		File f = new File(dir, key + ".properties");
+
+		if (dir == null || !f.isFile()) {
+			return null;
+		}
+
+		Properties p = new Properties();
+
+		try (InputStream is = new FileInputStream(f)) {
+			p.load(is);
+		} catch (IOException e) {
+			LOG.warn("Cannot load z/OSMF information of {}", key, e);
+
+			return null;
+		}
+
+		return new ZosmfInfoResponse(p.getProperty(KEYS[0]), p.getProperty(KEYS[1]), p.getProperty(KEYS[2]), p.getProperty(KEYS[3]), p.getProperty(KEYS[4]), p.getProperty(KEYS[5]), p.getProperty(KEYS[6]));
+	}
+
+	/**
+	 * @return the directory, or <code>null</code> if it cannot be used
+	 */
+	private static File getDirectory() {
+		try {
+			return SpoolCache.createPrivateDirectory(DIR);
+		} catch (IOException e) {
+			LOG.warn("Cannot use {}, the z/OSMF information is kept for this session only", DIR, e);
+
+			return null;
+		}
+	}
+
+	private static String key(String host, int port) {
+		return String.format("%s_%d", SpoolCache.sanitize(host), port);
+	}
+}
@@ -9,13 +9,34 @@
 **********************************************************************/
 package de.tgmz.aqua.connection.zowe.connection;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import javax.net.ssl.SSLContext;
 
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +52,7 @@ import com.ibm.cics.zos.comm.ZOSConnectionResponse;
 import zowe.client.sdk.core.ZosConnection;
 import zowe.client.sdk.core.ZosConnectionFactory;
 import zowe.client.sdk.rest.exception.ZosmfRequestException;
+import zowe.client.sdk.zosfiles.uss.model.UnixFile;
 import zowe.client.sdk.zosmfinfo.methods.ZosmfStatus;
 import zowe.client.sdk.zosmfinfo.response.ZosmfInfoResponse;
 
@@ -41,59 +63,295 @@ public class ZoweConnection extends AbstractZOSConnection implements IZOSConnect
 
 	public static final String UNKNOWN = "UNKNOWN";
 
-	private boolean connected;
+	/** Port of endpoints configured without one */
+	public static final int DEFAULT_PORT = 443;
 
-	private ZosConnection connection;
+	private static final ExecutorService CONNECTOR = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "zowe-connect");
+		t.setDaemon(true);
 
-	private ZoweUssConnection ussConnection;
-	private ZoweJobConnection jobConnection;
-	private ZoweDsnConnection dsnConnection;
+		return t;
+	});
+
+	private volatile boolean connected;
+	private volatile boolean optimistic;
+
+	private volatile EndpointRouter router;
+	private volatile Prefetcher prefetcher;
+	private volatile CompletableFuture<ConnectionException> verification;
+
+	// Settings applied to the router of every connect
+	private volatile boolean sticky = true;
+	private volatile double hedgePercentile;
+	private volatile double hedgeBudget;
+	private volatile long healthInterval;
+	private volatile long healthDegraded;
+	private volatile long reconnectWait;
+	private final Map<OperationClass, Long> timeouts = new ConcurrentHashMap<>();
+	private volatile int prefetchDepth;
+	private volatile int prefetchParallelism;
+	private volatile long prefetchBytesPerSecond;
 
 	private SSLContext sslContext;
 
+	@FunctionalInterface
+	public interface Connector {
+		void connect(ZoweConnection connection) throws ConnectionException;
+	}
+
 	@Override
 	public void connect() throws ConnectionException {
 		CredentialsConfiguration cc = ConnectionsPlugin.getDefault().getCredentialsManager().findCredentialsConfigurationByID(super.getConfiguration().getCredentialsID());
 
-		this.connect(getConfiguration().getHost(), getConfiguration().getPort(), cc.getUserID(), cc.getPassword());
+		// Several endpoints of a sysplex are configured as "host1:port1,host2:port2"
+		String host = getConfiguration().getHost();
+
+		if (host.indexOf(',') < 0) {
+			this.connect(host, getConfiguration().getPort(), cc.getUserID(), cc.getPassword());
+		} else {
+			this.connect(Arrays.asList(host.split(",")), getConfiguration().getPort(), cc.getUserID(), cc.getPassword());
+		}
 	}
 
 	public void connect(String host, int port, String user, String pass) throws ConnectionException {
-		connection = ZosConnectionFactory.createBasicConnection(host, port, user, pass);
+		connect(Collections.singletonList(ZosConnectionFactory.createBasicConnection(host, port, user, pass)));
+	}
 
-		initSSLConfiguration();
+	/**
+	 * Connects to several z/OSMF instances of a sysplex. Requests are routed to the available instance with the
+	 * least outstanding requests and fail over to the others.
+	 * @param endpoints "host:port" or "host" for the {@link #DEFAULT_PORT}
+	 */
+	public void connect(List<String> endpoints, String user, String pass) throws ConnectionException {
+		connect(endpoints, DEFAULT_PORT, user, pass);
+	}
 
-		ussConnection = new ZoweUssConnection(connection);
-		jobConnection = new ZoweJobConnection(connection);
-		dsnConnection = new ZoweDsnConnection(connection);
+	private void connect(List<String> endpoints, int defaultPort, String user, String pass) throws ConnectionException {
+		List<ZosConnection> connections = new ArrayList<>(endpoints.size());
 
-		ZosmfStatus zosmfStatus = new ZosmfStatus(connection);
+		for (String endpoint : endpoints) {
+			String s = endpoint.trim();
+			int i = s.lastIndexOf(':');
 
-		try {
-			ZosmfInfoResponse zosmfInfoResponse = zosmfStatus.get();
+			if (i < 0) {
+				connections.add(ZosConnectionFactory.createBasicConnection(s, defaultPort, user, pass));
+			} else {
+				connections.add(ZosConnectionFactory.createBasicConnection(s.substring(0, i), Integer.parseInt(s.substring(i + 1)), user, pass));
+			}
+		}
+
+		connect(connections);
+	}
+
+	private void connect(List<ZosConnection> connections) throws ConnectionException {
+		if (connections.isEmpty()) {
+			throw new ConnectionException("No endpoint configured");
+		}
+
+		// Releases the threads and listeners of an earlier connection and saves its spool index before it is loaded again
+		stopPrefetch();
+
+		EndpointRouter old = router;
+
+		if (old != null) {
+			old.shutdown();
+		}
+
+		// SSL setup, helpers and the probes of all endpoints run concurrently
+		CompletableFuture<Void> ssl = CompletableFuture.runAsync(this::initSSLConfiguration, CONNECTOR);
+
+		List<CompletableFuture<ZoweEndpoint>> helpers = new ArrayList<>(connections.size());
+		List<CompletableFuture<ZosmfInfoResponse>> probes = new ArrayList<>(connections.size());
+		boolean known = false;
+
+		for (ZosConnection c : connections) {
+			// The endpoints share the caches of the first one
+			helpers.add(helpers.isEmpty() ? CompletableFuture.supplyAsync(() -> new ZoweEndpoint(c, null), CONNECTOR) : helpers.get(0).thenApplyAsync(first -> new ZoweEndpoint(c, first), CONNECTOR));
+			probes.add(CompletableFuture.supplyAsync(() -> probe(c), CONNECTOR));
+
+			known |= ZosmfInfoCache.get(c.getHost(), c.getZosmfPort()) != null;
+		}
+
+		List<ZoweEndpoint> endpoints = new ArrayList<>(connections.size());
+
+		for (CompletableFuture<ZoweEndpoint> helper : helpers) {
+			endpoints.add(helper.join());
+		}
+
+		ssl.join();
+
+		EndpointRouter r = new EndpointRouter(endpoints);
+
+		configure(r);
 
-			String realHost = zosmfInfoResponse.getZosmfHostName();
-			String osVersion = zosmfInfoResponse.getZosVersion();
+		router = r;
+		connected = false;
+		verification = CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0])).handle((v, t) -> verify(r, probes));
 
+		if (optimistic && known) {
+			// Verified in the background
 			connected = true;
 
-			LOG.info("Connected to {} running on z/OS version {}", realHost, osVersion);
-		} catch (ZosmfRequestException e) {
-			connected = false;
+			LOG.info("Connected optimistically to {}", endpoints);
+
+			return;
+		}
+
+		ConnectionException e = verification.join();
+
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	/**
+	 * Connects many systems in parallel.
+	 * @return the connections which failed with their reasons
+	 */
+	public static Map<ZoweConnection, ConnectionException> connectAll(Collection<ZoweConnection> connections, int parallelism) {
+		return connectAll(connections, parallelism, ZoweConnection::connect);
+	}
+
+	/**
+	 * Connects many systems in parallel with the given function, e.g. <code>c -&gt; c.connect(host, port, user, pass)</code>.
+	 * @return the connections which failed with their reasons
+	 */
+	public static Map<ZoweConnection, ConnectionException> connectAll(Collection<ZoweConnection> connections, int parallelism, Connector connector) {
+		Map<ZoweConnection, ConnectionException> result = new ConcurrentHashMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, connections.size())), r -> {
+			Thread t = new Thread(r, "zowe-connect-all");
+			t.setDaemon(true);
+
+			return t;
+		});
+
+		try {
+			List<Future<?>> futures = new ArrayList<>(connections.size());
+
+			for (ZoweConnection c : connections) {
+				futures.add(executor.submit(() -> {
+					try {
+						connector.connect(c);
+					} catch (ConnectionException e) {
+						result.put(c, e);
+					} catch (RuntimeException e) {
+						result.put(c, new ConnectionException(e));
+					}
+				}));
+			}
+
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOG.error("Cannot connect", e);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return result;
+	}
+
+	/**
+	 * @param optimistic whether {@link #connect()} returns without waiting for z/OSMF if its information is known
+	 * from an earlier connection, default <code>false</code>
+	 */
+	public void setOptimisticConnect(boolean optimistic) {
+		this.optimistic = optimistic;
+	}
+
+	/**
+	 * Waits until z/OSMF has answered after an optimistic connect.
+	 * @return whether the connection is established
+	 */
+	public boolean awaitConnected(long timeout, TimeUnit unit) throws ConnectionException {
+		try {
+			verification.get(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 
 			throw new ConnectionException(e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new ConnectionException(e);
+		}
+
+		return connected;
+	}
+
+	/**
+	 * @return the last known z/OSMF information of the primary endpoint or <code>null</code>
+	 */
+	public ZosmfInfoResponse getZosmfInfo() {
+		ZoweEndpoint e = router.primary();
+
+		return ZosmfInfoCache.get(e.getHost(), e.getPort());
+	}
+
+	private static ZosmfInfoResponse probe(ZosConnection c) {
+		try {
+			ZosmfInfoResponse info = new ZosmfStatus(c).get();
+
+			ZosmfInfoCache.put(c.getHost(), c.getZosmfPort(), info);
+
+			return info;
+		} catch (ZosmfRequestException e) {
+			throw new CompletionException(new ConnectionException(e));
+		}
+	}
+
+	/**
+	 * @return the reason if no endpoint has answered
+	 */
+	private ConnectionException verify(EndpointRouter r, List<CompletableFuture<ZosmfInfoResponse>> probes) {
+		ConnectionException last = null;
+		boolean any = false;
+
+		for (int i = 0; i < probes.size(); ++i) {
+			ZoweEndpoint endpoint = r.getEndpoints().get(i);
+
+			try {
+				ZosmfInfoResponse zosmfInfoResponse = probes.get(i).join();
+
+				String realHost = zosmfInfoResponse.getZosmfHostName();
+				String osVersion = zosmfInfoResponse.getZosVersion();
+
+				any = true;
+
+				LOG.info("Connected to {} running on z/OS version {}", realHost, osVersion);
+			} catch (CompletionException e) {
+				// Left out until its backoff has elapsed
+				endpoint.failure();
+
+				last = e.getCause() instanceof ConnectionException ? (ConnectionException) e.getCause() : new ConnectionException(e.getCause());
+
+				LOG.info("Cannot connect to {}", endpoint, e.getCause());
+			}
+		}
+
+		// Unless disconnected or reconnected meanwhile
+		if (router == r) {
+			connected = any;
 		}
+
+		return any ? null : last;
 	}
 
 	@Override
 	public void disconnect() {
-		connection = null;
+		stopPrefetch();
+
+		if (router != null) {
+			router.shutdown();
+		}
+
 		connected = false;
 	}
 
 	@Override
 	public String getHost() {
-		return connection.getHost();
+		return router.primary().getHost();
 	}
 
 	@Override
@@ -103,17 +361,197 @@ public class ZoweConnection extends AbstractZOSConnection implements IZOSConnect
 
 	@Override
 	public int getPort() {
-		return connection.getZosmfPort();
+		return router.primary().getPort();
 	}
 
 	@Override
 	public String getUserID() {
-		return connection.getUser();
+		return router.primary().getConnection().getUser();
+	}
+
+	/**
+	 * @return the configured z/OSMF instances with their statistics
+	 */
+	public List<ZoweEndpoint> getEndpoints() {
+		return router.getEndpoints();
+	}
+
+	/**
+	 * @param sticky whether requests for a job go to the endpoint it was submitted to, default <code>true</code>
+	 */
+	public void setStickyJobs(boolean sticky) {
+		this.sticky = sticky;
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			r.setSticky(sticky);
+		}
+	}
+
+	/**
+	 * Enables hedging of small reads like listings and job status: a duplicate is sent if a read takes longer
+	 * than the given percentile of the latest reads of its kind.
+	 * @param percentile e.g. 0.95, 0 disables hedging (default)
+	 * @param budget the maximum ratio of duplicates to reads, e.g. 0.05
+	 */
+	public void setHedging(double percentile, double budget) {
+		EndpointRouter.checkHedging(percentile, budget);
+
+		hedgePercentile = percentile;
+		hedgeBudget = budget;
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			r.setHedging(percentile, budget);
+		}
+	}
+
+	public HedgeMetrics getHedgeMetrics() {
+		return router.getHedgeMetrics();
+	}
+
+	/**
+	 * Checks z/OSMF in the background: a healthy endpoint once per interval unless it has answered a request
+	 * meanwhile, a degraded or offline endpoint more often. An endpoint is offline after failing repeatedly and
+	 * the connection is offline if all endpoints are.
+	 * @param interval between checks of a healthy endpoint, 0 stops the checks (default)
+	 * @param degraded the median latency of the checks above which an endpoint is degraded
+	 */
+	public void setHealthMonitor(long interval, long degraded, TimeUnit unit) {
+		healthInterval = unit.toMillis(interval);
+		healthDegraded = unit.toMillis(degraded);
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			r.setHealthMonitor(healthInterval, healthDegraded);
+		}
+	}
+
+	/**
+	 * @param wait how long requests wait for an offline connection to answer again before failing, 0 fails at
+	 * once (default)
+	 */
+	public void setReconnectWait(long wait, TimeUnit unit) {
+		EndpointRouter.checkReconnectWait(wait);
+
+		reconnectWait = unit.toMillis(wait);
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			r.setReconnectWait(reconnectWait);
+		}
+	}
+
+	/**
+	 * Sets the default timeout of a kind of request. A request which exceeds it is aborted. The deadline of an
+	 * {@link OperationContext} takes precedence.
+	 * @param timeout 0 for none (default)
+	 */
+	public void setTimeout(OperationClass operationClass, long timeout, TimeUnit unit) {
+		EndpointRouter.checkTimeout(timeout);
+
+		timeouts.put(operationClass, unit.toMillis(timeout));
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			r.setTimeout(operationClass, unit.toMillis(timeout));
+		}
+	}
+
+	/**
+	 * Enables prefetching after listings: the content of the first members of a data set, the spool files of
+	 * the most recent jobs in OUTPUT and the listings of the first subdirectories. Prefetches run at low priority
+	 * while no other request is in progress.
+	 * @param depth the number of items prefetched per listing, 0 disables prefetching (default)
+	 * @param parallelism the maximum number of prefetches at a time
+	 * @param bytesPerSecond the bandwidth budget of the prefetches, 0 for none
+	 */
+	public void setPrefetch(int depth, int parallelism, long bytesPerSecond) {
+		if (depth != 0) {
+			Prefetcher.check(depth, parallelism, bytesPerSecond);
+		}
+
+		prefetchDepth = depth;
+		prefetchParallelism = parallelism;
+		prefetchBytesPerSecond = bytesPerSecond;
+
+		EndpointRouter r = router;
+
+		if (r != null) {
+			startPrefetch(r);
+		}
+	}
+
+	/**
+	 * @return the prefetch metrics or <code>null</code> if prefetching is disabled
+	 */
+	public PrefetchMetrics getPrefetchMetrics() {
+		Prefetcher p = prefetcher;
+
+		return p == null ? null : p.getMetrics();
+	}
+
+	/**
+	 * @return the best health of the endpoints
+	 */
+	public Health getHealth() {
+		return router.getHealth();
+	}
+
+	/**
+	 * Applies the settings to the router of a new connection.
+	 */
+	private void configure(EndpointRouter r) {
+		r.setSticky(sticky);
+		r.setHedging(hedgePercentile, hedgeBudget);
+		r.setReconnectWait(reconnectWait);
+		r.setHealthMonitor(healthInterval, healthDegraded);
+
+		timeouts.forEach(r::setTimeout);
+
+		startPrefetch(r);
+	}
+
+	private void startPrefetch(EndpointRouter r) {
+		Prefetcher p = prefetchDepth == 0 ? null : new Prefetcher(r, prefetchDepth, prefetchParallelism, prefetchBytesPerSecond);
+
+		stopPrefetch();
+
+		prefetcher = p;
+	}
+
+	private void stopPrefetch() {
+		Prefetcher p = prefetcher;
+
+		prefetcher = null;
+
+		if (p != null) {
+			p.shutdown();
+		}
+	}
+
+	/**
+	 * Drops the prefetched content of a member written or deleted.
+	 */
+	private void written(String dataSetName, String memberName) {
+		Prefetcher p = prefetcher;
+
+		if (p != null) {
+			p.invalidate(dataSetName, memberName);
+		}
 	}
 
+	/**
+	 * @return whether the connection is established and not offline
+	 */
 	@Override
 	public boolean isConnected() {
-		return connected;
+		return connected && !router.isOffline();
 	}
 
 	@Override
@@ -123,148 +561,324 @@ public class ZoweConnection extends AbstractZOSConnection implements IZOSConnect
 
 	@Override
 	public ZOSConnectionResponse getJob(String jobID) throws ConnectionException {
-		return jobConnection.getJob(jobID);
+		return router.hedgeJob("getJob", jobID, e -> e.getJobConnection().getJob(jobID));
 	}
 
 	@Override
 	public ByteArrayOutputStream getJobStepSpool(String jobID) throws ConnectionException {
-		return jobConnection.getJobStepSpool(jobID);
+		return router.readJob(jobID, e -> e.getJobConnection().getJobStepSpool(jobID));
 	}
 
 	@Override
 	public List<ZOSConnectionResponse> getJobSteps(String jobID) throws ConnectionException {
-		return jobConnection.getJobSteps(jobID);
+		return router.hedgeJob("getJobSteps", jobID, e -> e.getJobConnection().getJobSteps(jobID));
 	}
 
 	@Override
 	public List<ZOSConnectionResponse> getJobs(String jobName, JobStatus aJobStatus, String owner)
 			throws ConnectionException {
-		return jobConnection.getJobs(jobName, aJobStatus, owner);
+		List<ZOSConnectionResponse> result = router.hedge("getJobs", e -> e.getJobConnection().getJobs(jobName, aJobStatus, owner));
+		Prefetcher p = prefetcher;
+
+		if (p != null) {
+			p.jobs(result);
+		}
+
+		return result;
 	}
 
 	@Override
 	public List<ZOSConnectionResponse> getDataSetMembers(String dataSetName) throws ConnectionException {
-		return dsnConnection.getDataSetMembers(dataSetName);
+		List<ZOSConnectionResponse> result = router.hedge("getDataSetMembers", e -> e.getDsnConnection().getDataSetMembers(dataSetName));
+		Prefetcher p = prefetcher;
+
+		// A pattern lists data sets
+		if (p != null && !dataSetName.endsWith("*")) {
+			p.members(dataSetName, result);
+		}
+
+		return result;
 	}
 
 	@Override
 	public ByteArrayOutputStream retrieveDataSetMember(String dataSetName, String memberName)
 			throws ConnectionException {
-		return dsnConnection.retrieveDataSetMember(dataSetName, memberName);
+		Prefetcher p = prefetcher;
+		ByteArrayOutputStream prefetched = p == null ? null : p.take(dataSetName, memberName);
+
+		return prefetched != null ? prefetched : router.read(e -> e.getDsnConnection().retrieveDataSetMember(dataSetName, memberName));
 	}
 
 	@Override
 	public void recallDataSetMember(String dataSetName, String memberName) throws ConnectionException {
-		dsnConnection.recallDataSetMember(dataSetName, memberName);
+		router.run(e -> e.getDsnConnection().recallDataSetMember(dataSetName, memberName));
 	}
 
 	@Override
 	public ByteArrayOutputStream retrieveSequentialDataSet(String dataSetName) throws ConnectionException {
-		return dsnConnection.retrieveSequentialDataSet(dataSetName);
+		return router.read(e -> e.getDsnConnection().retrieveSequentialDataSet(dataSetName));
 	}
 
 	@Override
 	public ByteArrayOutputStream submitDataSetMember(String dataSetName, String memberName) throws ConnectionException {
-		return jobConnection.submitDataSetMember(dataSetName, memberName);
+		// Submitted as member, so the job sticks to the endpoint
+		router.write(e -> stick(e, e.getJobConnection().submitMember(dataSetName, memberName)));
+
+		return new ByteArrayOutputStream(0);
 	}
 
 	@Override
 	public void saveDataSetMember(String dataSetName, String memberName, InputStream dataSetContents)
 			throws ConnectionException {
-		dsnConnection.saveDataSetMember(dataSetName, memberName, dataSetContents);
+		try {
+			router.runOnce(e -> e.getDsnConnection().saveDataSetMember(dataSetName, memberName, dataSetContents));
+		} finally {
+			written(dataSetName, memberName);
+		}
 	}
 
 	@Override
 	public void deleteDataSet(String dataSetName, String memberName) throws ConnectionException {
-		dsnConnection.deleteDataSet(dataSetName, memberName);
+		try {
+			router.run(e -> e.getDsnConnection().deleteDataSet(dataSetName, memberName));
+		} finally {
+			// Without data set name the member name is the data set deleted
+			written(dataSetName == null ? memberName : dataSetName, dataSetName == null ? null : memberName);
+		}
 	}
 
 	@Override
 	public void createDataSet(String dataSetName, DataSetArguments dataSetArguments) throws ConnectionException {
-		dsnConnection.createDataSet(dataSetName, dataSetArguments);
+		router.run(e -> e.getDsnConnection().createDataSet(dataSetName, dataSetArguments));
 	}
 
 	@Override
 	public ZOSConnectionResponse getDataSet(String dataSetName) throws ConnectionException {
-		return dsnConnection.getDataSet(dataSetName);
+		return router.hedge("getDataSet", e -> e.getDsnConnection().getDataSet(dataSetName));
 	}
 
 	@Override
 	public ZOSConnectionResponse getDataSetMember(String dataSetName, String memberName) throws ConnectionException {
-		return dsnConnection.getDataSetMember(dataSetName, memberName);
+		return router.hedge("getDataSetMember", e -> e.getDsnConnection().getDataSetMember(dataSetName, memberName));
 	}
 
 	@Override
 	public ZOSConnectionResponse createDataSetMember(String dataSetName, String memberName) throws ConnectionException {
-		return dsnConnection.createDataSetMember(dataSetName, memberName);
+		try {
+			return router.write(e -> e.getDsnConnection().createDataSetMember(dataSetName, memberName));
+		} finally {
+			written(dataSetName, memberName);
+		}
 	}
 
 	@Override
 	public void createDataSet(String dataSetName, String basedOnDataSetPath, InputStream contents)
 			throws ConnectionException {
-		dsnConnection.createDataSet(dataSetName, basedOnDataSetPath, contents);
+		try {
+			router.runOnce(e -> e.getDsnConnection().createDataSet(dataSetName, basedOnDataSetPath, contents));
+		} finally {
+			written(dataSetName, null);
+		}
 	}
 
 	@Override
 	public List<ZOSConnectionResponse> getHFSChildren(String aPath, boolean includeHiddenFiles)
 			throws ConnectionException {
-		return ussConnection.getHFSChildren(aPath, includeHiddenFiles);
+		List<ZOSConnectionResponse> result = router.hedge("getHFSChildren", e -> e.getUssConnection().getHFSChildren(aPath, includeHiddenFiles));
+		Prefetcher p = prefetcher;
+
+		if (p != null) {
+			p.directories(aPath, result);
+		}
+
+		return result;
 	}
 
 	@Override
 	public boolean existsHFS(String aPath) throws ConnectionException {
-		return ussConnection.existsHFS(aPath);
+		return router.hedge("existsHFS", e -> e.getUssConnection().existsHFS(aPath));
 	}
 
 	@Override
 	public boolean existsHFSFile(String aPath, String aName) throws ConnectionException {
-		return ussConnection.existsHFSFile(aPath, aName);
+		return router.read(e -> e.getUssConnection().existsHFSFile(aPath, aName));
 	}
 
 	@Override
 	public void createFolderHFS(String aPath) throws ConnectionException {
-		ussConnection.createFolderHFS(aPath);
+		router.run(e -> e.getUssConnection().createFolderHFS(aPath));
 	}
 
 	@Override
 	public void deletePathHFS(String aPath) throws ConnectionException {
-		ussConnection.deletePathHFS(aPath);
+		router.run(e -> e.getUssConnection().deletePathHFS(aPath));
 	}
 
 	@Override
 	public void saveFileHFS(String aPath, InputStream fileContents, IZOSConstants.FileType aFileType)
 			throws ConnectionException {
-		ussConnection.saveFileHFS(aPath, fileContents, aFileType);
+		router.runOnce(e -> e.getUssConnection().saveFileHFS(aPath, fileContents, aFileType));
 	}
 
 	@Override
 	public void saveFileHFS(String filePath, InputStream fileContents, String charset) throws ConnectionException {
-		ussConnection.saveFileHFS(filePath, fileContents, charset);
+		router.runOnce(e -> e.getUssConnection().saveFileHFS(filePath, fileContents, charset));
 	}
 
 	@Override
 	public ByteArrayOutputStream getFileHFS(String fileName, FileType p1) throws ConnectionException {
-		return ussConnection.getFileHFS(fileName, p1);
+		return router.read(e -> e.getUssConnection().getFileHFS(fileName, p1));
 	}
 
 	@Override
 	public ByteArrayOutputStream getJobSpool(String jobId) throws ConnectionException {
-		return jobConnection.getJobSpool(jobId);
+		return router.readJob(jobId, e -> e.getJobConnection().getJobSpool(jobId));
 	}
 
 	@Override
 	public ZOSConnectionResponse submitJob(InputStream stream) throws ConnectionException {
-		return jobConnection.submitJob(stream);
+		byte[] jcl = toByteArray(stream);
+
+		return router.write(e -> stick(e, e.getJobConnection().submitJob(new ByteArrayInputStream(jcl))));
 	}
 
 	@Override
 	public void deleteJob(String jobId) throws ConnectionException {
-		jobConnection.deleteJob(jobId);
+		router.runJob(jobId, e -> e.getJobConnection().deleteJob(jobId));
 	}
 
 	@Override
 	public void cancelJob(String jobId) throws ConnectionException {
-		jobConnection.cancelJob(jobId);
+		router.runJob(jobId, e -> e.getJobConnection().cancelJob(jobId));
+	}
+
+	public int getJobs(String jobName, JobStatus aJobStatus, String owner, int maxJobs, Consumer<ZOSConnectionResponse> consumer)
+			throws ConnectionException {
+		return router.readOnce(e -> e.getJobConnection().getJobs(jobName, aJobStatus, owner, maxJobs, consumer));
+	}
+
+	public List<BulkJobResult> purgeJobs(Collection<String> jobIds, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getJobConnection().purgeJobs(jobIds, parallelism));
+	}
+
+	public List<BulkJobResult> purgeJobs(String jobName, JobStatus aJobStatus, String owner, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getJobConnection().purgeJobs(jobName, aJobStatus, owner, parallelism));
+	}
+
+	public List<BulkJobResult> cancelJobs(Collection<String> jobIds, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getJobConnection().cancelJobs(jobIds, parallelism));
+	}
+
+	public List<BulkJobResult> cancelJobs(String jobName, JobStatus aJobStatus, String owner, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getJobConnection().cancelJobs(jobName, aJobStatus, owner, parallelism));
+	}
+
+	public ZOSConnectionResponse submitMember(String dataSetName, String memberName) throws ConnectionException {
+		return router.write(e -> stick(e, e.getJobConnection().submitMember(dataSetName, memberName)));
+	}
+
+	public ZOSConnectionResponse submitJob(InputStream stream, Charset charset) throws ConnectionException {
+		byte[] jcl = toByteArray(stream);
+
+		return router.write(e -> stick(e, e.getJobConnection().submitJob(new ByteArrayInputStream(jcl), charset)));
+	}
+
+	public List<JobHandle> submitJobs(List<InputStream> streams, Charset charset, boolean track) {
+		ZoweEndpoint e = router.select();
+
+		return stick(e, e.getJobConnection().submitJobs(streams, charset, track));
+	}
+
+	public List<JobHandle> submitDataSetMembers(String dataSetName, Collection<String> memberNames, boolean track) {
+		ZoweEndpoint e = router.select();
+
+		return stick(e, e.getJobConnection().submitDataSetMembers(dataSetName, memberNames, track));
+	}
+
+	public List<SpoolIndex.Hit> searchSpool(String term, int maxHits) {
+		return router.primary().getJobConnection().searchSpool(term, maxHits);
+	}
+
+	public SpoolExport exportJobSpool(String jobID, File target, long startRecord) throws ConnectionException {
+		return router.readJobOnce(jobID, e -> e.getJobConnection().exportJobSpool(jobID, target, startRecord));
+	}
+
+	public SpoolExport exportJobSpool(String jobID, WritableByteChannel channel, long startRecord) throws ConnectionException {
+		return router.readJobOnce(jobID, e -> e.getJobConnection().exportJobSpool(jobID, channel, startRecord));
+	}
+
+	public JobNotificationListener startNotificationListener(String callbackHost, int port, long fallbackDelay) throws ConnectionException {
+		return router.primary().getJobConnection().startNotificationListener(callbackHost, port, fallbackDelay);
+	}
+
+	public void stopNotificationListener() {
+		for (ZoweEndpoint e : router.getEndpoints()) {
+			e.getJobConnection().stopNotificationListener();
+		}
+	}
+
+	public SpoolFollower followJobSpool(String jobID) throws ConnectionException {
+		return router.readJob(jobID, e -> e.getJobConnection().followJobSpool(jobID));
+	}
+
+	public JobWatcher getJobWatcher() {
+		return router.primary().getJobConnection().getJobWatcher();
+	}
+
+	public void watchJob(String jobID, JobWatcher.Listener listener) throws ConnectionException {
+		router.runJob(jobID, e -> e.getJobConnection().watchJob(jobID, listener));
+	}
+
+	public long getFileHFS(String fileName, FileType p1, OutputStream os) throws ConnectionException {
+		return router.readOnce(e -> e.getUssConnection().getFileHFS(fileName, p1, os));
+	}
+
+	public UssTreeWalker walkHFS(String aPath) {
+		return router.select().getUssConnection().walkHFS(aPath);
+	}
+
+	public List<UssBulkResult> changePermissions(Collection<String> paths, String octal, boolean recursive, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getUssConnection().changePermissions(paths, octal, recursive, parallelism));
+	}
+
+	public List<UssBulkResult> changeOwner(Collection<String> paths, String owner, String group, boolean recursive, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getUssConnection().changeOwner(paths, owner, group, recursive, parallelism));
+	}
+
+	public List<UssBulkResult> deletePathsHFS(Collection<String> paths, int parallelism) throws ConnectionException {
+		return router.write(e -> e.getUssConnection().deletePathsHFS(paths, parallelism));
+	}
+
+	public List<String> globHFS(String aPath, String glob) throws ConnectionException {
+		return router.read(e -> e.getUssConnection().globHFS(aPath, glob));
+	}
+
+	public UssSync syncHFS(File local, String aPath) {
+		return router.select().getUssConnection().syncHFS(local, aPath);
+	}
+
+	public UssTransfer downloadFileHFS(String fileName, File target) throws ConnectionException {
+		return router.read(e -> e.getUssConnection().downloadFileHFS(fileName, target));
+	}
+
+	public UssTransfer downloadFileHFS(String fileName, File target, int chunkSize) throws ConnectionException {
+		return router.read(e -> e.getUssConnection().downloadFileHFS(fileName, target, chunkSize));
+	}
+
+	public UssTransfer uploadFileHFS(File source, String fileName) throws ConnectionException {
+		return router.write(e -> e.getUssConnection().uploadFileHFS(source, fileName));
+	}
+
+	public Map<String, Boolean> existsHFS(Collection<String> paths) throws ConnectionException {
+		return router.read(e -> e.getUssConnection().existsHFS(paths));
+	}
+
+	public UnixFile statHFS(String aPath) throws ConnectionException {
+		return router.hedge("statHFS", e -> e.getUssConnection().statHFS(aPath));
+	}
+
+	public Map<String, UnixFile> statHFS(Collection<String> paths) throws ConnectionException {
+		return router.read(e -> e.getUssConnection().statHFS(paths));
 	}
 
 	@Override
@@ -280,7 +894,32 @@ public class ZoweConnection extends AbstractZOSConnection implements IZOSConnect
 
 	@Override
 	public void changePermissions(String aHFSEntry, String octal) throws ConnectionException {
-		ussConnection.changePermissions(aHFSEntry, octal);
+		router.run(e -> e.getUssConnection().changePermissions(aHFSEntry, octal));
+	}
+
+	/**
+	 * Reads JCL once so it can be sent to another endpoint.
+	 */
+	private static byte[] toByteArray(InputStream stream) throws ConnectionException {
+		try {
+			return IOUtils.toByteArray(stream);
+		} catch (IOException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
+	private ZOSConnectionResponse stick(ZoweEndpoint endpoint, ZOSConnectionResponse response) {
+		router.stick(response.getAttribute(IZOSConstants.JOB_ID), endpoint);
+
+		return response;
+	}
+
+	private List<JobHandle> stick(ZoweEndpoint endpoint, List<JobHandle> handles) {
+		for (JobHandle handle : handles) {
+			handle.getSubmitted().thenAccept(r -> router.stick(r.getAttribute(IZOSConstants.JOB_ID), endpoint));
+		}
+
+		return handles;
 	}
 
 	private void initSSLConfiguration() {
@@ -51,18 +51,20 @@ public class ZoweDsnConnection {
 
 	private Response response;
 
-	private DsnGet dsnGet;
+	/** Members are prefetched concurrently with retrievals */
+	private final ThreadLocal<DsnGet> dsnGets;
 	private DsnWrite dsnWrite;
 	private DsnDelete dsnDelete;
-	private DsnList dsnList;
+	/** The SDK methods aren't thread safe and hedged reads run concurrently */
+	private final ThreadLocal<DsnList> dsnLists;
 	private DsnCreate dsnCreate;
 	private DsnCopy dsnCopy;
 
 	public ZoweDsnConnection(ZosConnection connection) {
 		dsnWrite = new DsnWrite(connection);
 		dsnDelete = new DsnDelete(connection);
-		dsnGet = new DsnGet(connection);
-		dsnList = new DsnList(connection);
+		dsnGets = ThreadLocal.withInitial(() -> new DsnGet(connection));
+		dsnLists = ThreadLocal.withInitial(() -> new DsnList(connection));
 		dsnCreate = new DsnCreate(connection);
 		dsnCopy = new DsnCopy(connection);
 	}
@@ -222,7 +224,7 @@ public class ZoweDsnConnection {
 	private ByteArrayOutputStream retrieve(String dataSetName) throws ConnectionException {
 		DsnDownloadInputData params = new DsnDownloadInputData.Builder().build();
 
-		try (InputStream is = dsnGet.get(dataSetName, params); 
+		try (InputStream is = dsnGets.get().get(dataSetName, params); 
 				ByteArrayOutputStream os = new ByteArrayOutputStream()) {
 			IOUtils.copy(is, os);
 
@@ -236,7 +238,7 @@ public class ZoweDsnConnection {
 		List<Dataset> items;
 
 		try {
-			items = dsnList.getDatasets(pattern, new DsnListInputData.Builder().attribute(AttributeType.BASE).build());
+			items = dsnLists.get().getDatasets(pattern, new DsnListInputData.Builder().attribute(AttributeType.BASE).build());
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
@@ -286,7 +288,7 @@ public class ZoweDsnConnection {
 		List<Member> items;
 
 		try {
-			items = dsnList.getMembers(dataSetName, new DsnListInputData.Builder().attribute(AttributeType.MEMBER).build());
+			items = dsnLists.get().getMembers(dataSetName, new DsnListInputData.Builder().attribute(AttributeType.MEMBER).build());
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
@@ -0,0 +1,177 @@
+/*********************************************************************
+* Copyright (c) 19.10.2026 Thomas Zierer
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+**********************************************************************/
+package de.tgmz.aqua.connection.zowe.connection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import zowe.client.sdk.core.ZosConnection;
+
+/**
+ * A z/OSMF instance of a sysplex with its own helpers and the statistics the {@link EndpointRouter}
+ * selects by: the number of outstanding requests, the average latency and the failures in a row.
+ * Its {@link Health} follows from the failures and the latency of health checks.
+ */
+public class ZoweEndpoint {
+	/** Weight of the latest request in the average latency */
+	static final double LATENCY_WEIGHT = 0.2;
+	static final long BACKOFF_MIN = 1_000L;
+	static final long BACKOFF_MAX = 60_000L;
+	/** Failures in a row after which an endpoint is offline */
+	static final int OFFLINE_FAILURES = 3;
+
+	private final ZosConnection connection;
+
+	private final ZoweUssConnection ussConnection;
+	private final ZoweJobConnection jobConnection;
+	private final ZoweDsnConnection dsnConnection;
+
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final LatencyWindow pings = new LatencyWindow();
+
+	private double latency;
+	private int failures;
+	private long unavailableUntil;
+	private long lastResponse;
+	private boolean slow;
+	private Health health = Health.HEALTHY;
+
+	/**
+	 * @param shared another endpoint of the sysplex whose caches are shared, so a write through one endpoint
+	 * invalidates what has been read through the others, or <code>null</code>
+	 */
+	ZoweEndpoint(ZosConnection connection, ZoweEndpoint shared) {
+		this.connection = connection;
+
+		ussConnection = new ZoweUssConnection(connection, shared == null ? new UssCache() : shared.ussConnection.getCache());
+		jobConnection = new ZoweJobConnection(connection, shared == null ? null : shared.jobConnection);
+		dsnConnection = new ZoweDsnConnection(connection);
+	}
+
+	public String getHost() {
+		return connection.getHost();
+	}
+
+	public int getPort() {
+		return connection.getZosmfPort();
+	}
+
+	/**
+	 * @return the number of requests in progress
+	 */
+	public int getOutstanding() {
+		return outstanding.get();
+	}
+
+	/**
+	 * @return the exponentially weighted average latency in milliseconds
+	 */
+	public synchronized double getLatency() {
+		return latency;
+	}
+
+	public synchronized int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return whether the endpoint is selected for requests. An endpoint which failed is left out until
+	 * its backoff has elapsed.
+	 */
+	public synchronized boolean isAvailable() {
+		return System.currentTimeMillis() >= unavailableUntil;
+	}
+
+	public synchronized Health getHealth() {
+		return health;
+	}
+
+	/**
+	 * @return the median latency of the latest health checks in milliseconds or -1 without health checks
+	 */
+	public long getPingLatency() {
+		return pings.percentile(0.5);
+	}
+
+	synchronized long getLastResponse() {
+		return lastResponse;
+	}
+
+	synchronized long getUnavailableUntil() {
+		return unavailableUntil;
+	}
+
+	ZosConnection getConnection() {
+		return connection;
+	}
+
+	ZoweUssConnection getUssConnection() {
+		return ussConnection;
+	}
+
+	ZoweJobConnection getJobConnection() {
+		return jobConnection;
+	}
+
+	ZoweDsnConnection getDsnConnection() {
+		return dsnConnection;
+	}
+
+	void begin() {
+		outstanding.incrementAndGet();
+	}
+
+	void end() {
+		outstanding.decrementAndGet();
+	}
+
+	/**
+	 * Records a response, errors included, since the endpoint has answered.
+	 */
+	synchronized void success(long millis) {
+		latency = latency == 0 ? millis : LATENCY_WEIGHT * millis + (1 - LATENCY_WEIGHT) * latency;
+		failures = 0;
+		unavailableUntil = 0;
+		lastResponse = System.currentTimeMillis();
+		health = slow ? Health.DEGRADED : Health.HEALTHY;
+	}
+
+	/**
+	 * Records a health check. The endpoint is degraded while the median of the latest checks exceeds the given latency.
+	 */
+	synchronized void pinged(long millis, long degraded) {
+		pings.add(millis);
+
+		slow = pings.percentile(0.5) > degraded;
+
+		success(millis);
+	}
+
+	/**
+	 * Records a request without response. The endpoint is left out for an exponential backoff.
+	 */
+	synchronized void failure() {
+		++failures;
+
+		long backoff = Math.min(BACKOFF_MAX, BACKOFF_MIN << Math.min(failures - 1, 16));
+
+		unavailableUntil = System.currentTimeMillis() + backoff;
+		health = failures >= OFFLINE_FAILURES ? Health.OFFLINE : Health.DEGRADED;
+	}
+
+	void shutdown() {
+		jobConnection.shutdown();
+		ussConnection.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s:%d", getHost(), getPort());
+	}
+}
@@ -10,18 +10,42 @@
 package de.tgmz.aqua.connection.zowe.connection;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.ibm.cics.core.comm.ConnectionException;
 import com.ibm.cics.zos.comm.IZOSConstants;
 import com.ibm.cics.zos.comm.IZOSConstants.JobStatus;
@@ -34,7 +58,8 @@ import zowe.client.sdk.rest.ZosmfRequest;
 import zowe.client.sdk.rest.ZosmfRequestFactory;
 import zowe.client.sdk.rest.exception.ZosmfRequestException;
 import zowe.client.sdk.rest.type.ZosmfRequestType;
-import zowe.client.sdk.zosjobs.input.JobGetInputData;
+import zowe.client.sdk.utility.EncodeUtils;
+import zowe.client.sdk.zosjobs.JobsConstants;
 import zowe.client.sdk.zosjobs.methods.JobCancel;
 import zowe.client.sdk.zosjobs.methods.JobDelete;
 import zowe.client.sdk.zosjobs.methods.JobGet;
@@ -45,23 +70,129 @@ import zowe.client.sdk.zosjobs.model.JobFile;
 public class ZoweJobConnection {
 	private static final Logger LOG = LoggerFactory.getLogger(ZoweJobConnection.class);
 
+	private static final String RECORD_RANGE = "X-IBM-Record-Range";
+
+	/** Default number of parallel requests of bulk operations */
+	public static final int BULK_PARALLELISM = 4;
+	/** Number of jobs of a batch submission which are submitted in parallel */
+	public static final int SUBMIT_PARALLELISM = 4;
+
+	/** Number of records downloaded per request of a spool export */
+	public static final int EXPORT_CHUNK = 10_000;
+
+	private static final int EXPORT_BUFFER = 64 * 1024;
+
+	private static final String NOTIFICATION_URL = "X-IBM-Notification-URL";
+
+	static final ObjectReader JOB_READER = new ObjectMapper().readerFor(Job.class);
+	private static final Map<String, JobStatus> JOB_STATUS = new HashMap<>();
+
+	static {
+		for (JobStatus js : JobStatus.values()) {
+			JOB_STATUS.put(js.name(), js);
+		}
+	}
+
 	private ZosConnection connection;
 
 	private Response response;
 
-	private JobGet jobGet;
 	private JobSubmit jobSubmit;
 	private JobDelete jobDelete;
 	private JobCancel jobCancel;
 
+	private JobCache jobCache;
+	private SpoolCache spoolCache;
+	private SpoolIndex spoolIndex;
+
+	private ScheduledExecutorService scheduler;
+	private JobWatcher jobWatcher;
+
+	private JobNotificationListener notificationListener;
+
+	private ExecutorService submitter;
+	private boolean shutdown;
+	/** JobSubmit reuses a single request, so every submitting thread needs its own */
+	private final ThreadLocal<JobSubmit> jobSubmits = ThreadLocal.withInitial(() -> new JobSubmit(connection));
+	/** Hedged reads of the same job and prefetches run concurrently */
+	private final ThreadLocal<JobGet> jobGets = ThreadLocal.withInitial(() -> new JobGet(connection));
+
+	@FunctionalInterface
+	private interface Submission {
+		Job submit(JobSubmit js) throws ZosmfRequestException, IOException;
+	}
+
+	/** Submission of a job of a batch. Its handle fails if it doesn't run. */
+	private final class SubmitTask implements Runnable {
+		private final JobHandle handle;
+		private final Submission submission;
+		private final boolean track;
+
+		private SubmitTask(JobHandle handle, Submission submission, boolean track) {
+			this.handle = handle;
+			this.submission = submission;
+			this.track = track;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Job job = submission.submit(jobSubmits.get());
+
+				LOG.debug("Submitted {} as {}", handle.getSource(), job.getJobId());
+
+				jobCache.put(job);
+
+				handle.getSubmitted().complete(convertSubmitted(job));
+
+				if (track) {
+					trackJob(job, new JobWatcher.Listener() {
+						@Override
+						public void jobCompleted(ZOSConnectionResponse cr, IJob.JobCompletion jc) {
+							handle.getCompleted().complete(jc);
+						}
+
+						@Override
+						public void jobFailed(String jobId, ConnectionException e) {
+							handle.fail(e);
+						}
+					});
+				}
+			} catch (Exception e) {
+				// Any failure, so callers waiting for the handle don't hang
+				handle.fail(new ConnectionException(e));
+			}
+		}
+	}
+
 	public ZoweJobConnection(ZosConnection connection) {
+		this(connection, null);
+	}
+
+	/**
+	 * @param shared the connection to another endpoint of the sysplex whose caches and index are shared,
+	 * or <code>null</code>
+	 */
+	ZoweJobConnection(ZosConnection connection, ZoweJobConnection shared) {
 		this.connection = connection;
 
-		jobGet = new JobGet(connection);
 		jobSubmit = new JobSubmit(connection);
 		jobDelete = new JobDelete(connection);
 		jobCancel = new JobCancel(connection);
 
+		if (shared != null) {
+			jobCache = new JobCache(jobGets::get, shared.jobCache);
+			spoolCache = shared.spoolCache;
+			spoolIndex = shared.spoolIndex;
+
+			return;
+		}
+
+		jobCache = new JobCache(jobGets::get);
+
+		File dir = SpoolCache.getDirectory(connection.getHost(), connection.getZosmfPort());
+		spoolCache = new SpoolCache(dir, SpoolCache.MAX_SIZE);
+		spoolIndex = new SpoolIndex(new File(dir, "spool.idx"));
 	}
 
 	public ZOSConnectionResponse getJob(String jobID) throws ConnectionException {
@@ -70,11 +201,13 @@ public class ZoweJobConnection {
 		Job byId;
 
 		try {
-			byId = jobGet.getById(jobID);
+			byId = jobGets.get().getById(jobID);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
 
+		jobCache.put(byId);
+
 		return convertJob(byId);
 	}
 
@@ -83,36 +216,46 @@ public class ZoweJobConnection {
 
 		String[] split = jobID.split("\\.");
 
+		if (split.length != 2) {
+			throw new ConnectionException(String.format("Invalid spool file %s", jobID));
+		}
+
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
 		try {
-			Job jobs = jobGet.getById(split[0]);
-			List<JobFile> files = jobGet.getSpoolFilesByJob(jobs);
-
-			for (JobFile file : files) {
-				if (Long.parseLong(split[1]) == file.getId()) {
-					response = download(file.getRecordsUrl());
+			JobFile file = jobCache.getSpoolFile(split[0], Long.parseLong(split[1]));
 
-					baos.write(((String) response.getResponsePhrase().orElse("")).getBytes());
-
-					break;
-				}
+			if (file != null) {
+				baos.write(getSpoolContent(jobCache.getJob(split[0]), file).getBytes());
 			}
-		} catch (ZosmfRequestException |IOException e) {
+		} catch (ZosmfRequestException | IOException | NumberFormatException e) {
 			throw new ConnectionException(e);
 		}
 
 		return baos;
 	}
 
+	/**
+	 * Loads the spool files of a job into the cache.
+	 * @return the number of spool files
+	 */
+	int prefetchSpoolFiles(String jobID) throws ConnectionException {
+		LOG.debug("prefetchSpoolFiles {}", jobID);
+
+		try {
+			return jobCache.getSpoolFiles(jobID).size();
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
 	public List<ZOSConnectionResponse> getJobSteps(String jobID) throws ConnectionException {
 		LOG.debug("getJobSteps} {}", jobID);
 		
 		List<JobFile> spoolFilesByJob;
 
 		try {
-			Job byId = jobGet.getById(jobID);
-			spoolFilesByJob = jobGet.getSpoolFilesByJob(byId);
+			spoolFilesByJob = jobCache.getSpoolFiles(jobID);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
@@ -137,58 +280,76 @@ public class ZoweJobConnection {
 	}
 
 	public List<ZOSConnectionResponse> getJobs(String jobName, IZOSConstants.JobStatus aJobStatus, String owner) throws ConnectionException {
-		LOG.debug("getJobs {} {} {}", jobName, aJobStatus, owner);
+		List<ZOSConnectionResponse> result = new ArrayList<>();
 
-		List<ZOSConnectionResponse> result = new LinkedList<>();
-		List<Job> jobs;
+		getJobs(jobName, aJobStatus, owner, 0, result::add);
 
-		JobGetInputData params = new JobGetInputData.Builder(owner).prefix(jobName).build();
+		return result;
+	}
+
+	/**
+	 * Streams the jobs matching name, status and owner to a consumer. Active jobs and the maximum
+	 * number of jobs are filtered by z/OSMF, other states on the client.
+	 * @param maxJobs the maximum number of jobs to list, the z/OSMF default if not positive
+	 * @return the number of jobs passed to the consumer
+	 */
+	public int getJobs(String jobName, IZOSConstants.JobStatus aJobStatus, String owner, int maxJobs, Consumer<ZOSConnectionResponse> consumer) throws ConnectionException {
+		LOG.debug("getJobs {} {} {} {}", jobName, aJobStatus, owner, maxJobs);
+
+		int[] count = new int[1];
 
 		try {
-			jobs = jobGet.getCommon(params);
+			listJobs(owner, jobName, maxJobs, aJobStatus == JobStatus.ACTIVE, job -> {
+				jobCache.put(job);
+
+				if (aJobStatus == JobStatus.ALL || aJobStatus.name().equals(job.getStatus())) {
+					consumer.accept(convertJob(job));
+
+					++count[0];
+				}
+			});
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
 
-		for (Job job : jobs) {
-			if (aJobStatus == JobStatus.ALL
-					|| JobStatus.valueOf(job.getStatus()) == aJobStatus) {
-				result.add(convertJob(job));
-			}
-		}
-
-		return result;
+		return count[0];
 	}
 
 	public ByteArrayOutputStream submitDataSetMember(String dataSetName, String memberName) throws ConnectionException {
-		LOG.debug("submitDataSetMember {} {}", dataSetName, memberName);
+		submitMember(dataSetName, memberName);
+
+		return new ByteArrayOutputStream(0);
+	}
+
+	public ZOSConnectionResponse submitMember(String dataSetName, String memberName) throws ConnectionException {
+		LOG.debug("submitMember {} {}", dataSetName, memberName);
+
+		Job job;
 
 		try {
-			Job job = jobSubmit.submit(String.format("%s(%s)", dataSetName, memberName));
+			job = submitMember(jobSubmit, String.format("%s(%s)", dataSetName, memberName));
 
 			LOG.debug("jobSubmit {}", job);
-		} catch (ZosmfRequestException e) {
+		} catch (ZosmfRequestException | IOException e) {
 			throw new ConnectionException(e);
 		}
 
-		return new ByteArrayOutputStream(0);
+		jobCache.put(job);
+
+		return convertSubmitted(job);
 	}
 
 	public ByteArrayOutputStream getJobSpool(String jobID) throws ConnectionException {
 		LOG.debug("getJobSpool {}", jobID);
 
-		JobGetInputData params = new JobGetInputData.Builder("*").jobId(jobID).build();
-
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			List<Job> jobs = jobGet.getCommon(params);
-			List<JobFile> files = jobGet.getSpoolFilesByJob(jobs.get(0));
+			List<JobFile> files = jobCache.getSpoolFiles(jobID);
+			Job job = jobCache.getJob(jobID);
 
 			StringBuilder sb = new StringBuilder();
 
 			for (JobFile jobFile : files) {
-				response = download(jobFile.getRecordsUrl());
-
-				sb.append((String) response.getResponsePhrase().orElse(""));
+				sb.append(getSpoolContent(job, jobFile));
 			}
 
 			baos.write(sb.toString().getBytes());
@@ -200,31 +361,73 @@ public class ZoweJobConnection {
 	}
 
 	public ZOSConnectionResponse submitJob(InputStream stream) throws ConnectionException {
-		LOG.debug("submitJob {}", stream);
+		return submitJob(stream, Charset.defaultCharset());
+	}
+
+	public ZOSConnectionResponse submitJob(InputStream stream, Charset charset) throws ConnectionException {
+		LOG.debug("submitJob {} {}", stream, charset);
 
 		Job job;
 
-		try (Reader r = new InputStreamReader(stream)) {
-			job = jobSubmit.submitByJcl(IOUtils.toString(r), null, null);
+		try {
+			job = submitJcl(jobSubmit, stream, charset);
 		} catch (ZosmfRequestException | IOException e) {
 			throw new ConnectionException(e);
 		}
 
-		ZOSConnectionResponse cr = new ZOSConnectionResponse();
-		cr.addAttribute(IZOSConstants.JOB_NAME, job.getJobName());
-		cr.addAttribute(IZOSConstants.JOB_ID, job.getJobId());
-		cr.addAttribute(IZOSConstants.JOB_USER, job.getOwner());
+		jobCache.put(job);
 
-		return cr;
+		return convertSubmitted(job);
+	}
+
+	/**
+	 * Submits the JCL streams in the background, at most {@link #SUBMIT_PARALLELISM} at a time. The streams
+	 * are closed after their job has been submitted.
+	 * @param track if <code>true</code> the returned handles complete when their jobs have ended
+	 * @return a handle per stream, in the order of the streams
+	 */
+	public List<JobHandle> submitJobs(List<InputStream> streams, Charset charset, boolean track) {
+		LOG.debug("submitJobs {} {} {}", streams.size(), charset, track);
+
+		List<JobHandle> result = new ArrayList<>(streams.size());
+
+		for (int i = 0; i < streams.size(); ++i) {
+			InputStream stream = streams.get(i);
+
+			result.add(submitAsync(String.valueOf(i), js -> submitJcl(js, stream, charset), track));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Submits members of a data set in the background, see {@link #submitJobs(List, Charset, boolean)}.
+	 */
+	public List<JobHandle> submitDataSetMembers(String dataSetName, Collection<String> memberNames, boolean track) {
+		LOG.debug("submitDataSetMembers {} {} {}", dataSetName, memberNames, track);
+
+		List<JobHandle> result = new ArrayList<>(memberNames.size());
+
+		for (String memberName : memberNames) {
+			String member = String.format("%s(%s)", dataSetName, memberName);
+
+			result.add(submitAsync(member, js -> submitMember(js, member), track));
+		}
+
+		return result;
 	}
 
 	public void deleteJob(String jobId) throws ConnectionException {
 		LOG.debug("deleteJob {}", jobId);
 
 		try {
-			Job byId = jobGet.getById(jobId);
+			Job byId = jobCache.getJob(jobId);
 			response = jobDelete.deleteByJob(byId, "2.0");
 
+			jobCache.invalidate(jobId);
+			spoolCache.invalidate(jobId);
+			spoolIndex.remove(jobId);
+
 			LOG.debug("jobDelete {}", response);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
@@ -235,32 +438,615 @@ public class ZoweJobConnection {
 		LOG.debug("cancelJob {}", jobId);
 
 		try {
-			Job byId = jobGet.getById(jobId);
+			Job byId = jobCache.getJob(jobId);
 			response = jobCancel.cancelByJob(byId, null);
 
+			jobCache.invalidate(jobId);
+
 			LOG.debug("jobCancel {}", response);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
 	}
 
-	private ZOSConnectionResponse convertJob(Job job) {
+	/**
+	 * Purges the given jobs. Jobs which are not cached are looked up once to get their names.
+	 */
+	public List<BulkJobResult> purgeJobs(Collection<String> jobIds, int parallelism) throws ConnectionException {
+		LOG.debug("purgeJobs {} {}", jobIds, parallelism);
+
+		return modifyJobs(new ArrayList<>(jobIds), this::resolveJob, true, parallelism);
+	}
+
+	/**
+	 * Purges all jobs matching name prefix, owner and status with a single listing.
+	 */
+	public List<BulkJobResult> purgeJobs(String jobName, IZOSConstants.JobStatus aJobStatus, String owner, int parallelism) throws ConnectionException {
+		LOG.debug("purgeJobs {} {} {} {}", jobName, aJobStatus, owner, parallelism);
+
+		return modifyJobs(listJobs(jobName, aJobStatus, owner), Function.identity(), true, parallelism);
+	}
+
+	public List<BulkJobResult> cancelJobs(Collection<String> jobIds, int parallelism) throws ConnectionException {
+		LOG.debug("cancelJobs {} {}", jobIds, parallelism);
+
+		return modifyJobs(new ArrayList<>(jobIds), this::resolveJob, false, parallelism);
+	}
+
+	public List<BulkJobResult> cancelJobs(String jobName, IZOSConstants.JobStatus aJobStatus, String owner, int parallelism) throws ConnectionException {
+		LOG.debug("cancelJobs {} {} {} {}", jobName, aJobStatus, owner, parallelism);
+
+		return modifyJobs(listJobs(jobName, aJobStatus, owner), Function.identity(), false, parallelism);
+	}
+
+	/**
+	 * Searches the spool of completed jobs which has been downloaded before.
+	 */
+	public List<SpoolIndex.Hit> searchSpool(String term, int maxHits) {
+		LOG.debug("searchSpool {} {}", term, maxHits);
+
+		return spoolIndex.search(term, maxHits);
+	}
+
+	/**
+	 * Exports the spool of a job ("JOBID") or a single spool file ("JOBID.FILEID") to a file, see
+	 * {@link #exportJobSpool(String, WritableByteChannel, long)}. The file is appended to if the export
+	 * does not start with the first record.
+	 */
+	public SpoolExport exportJobSpool(String jobID, File target, long startRecord) throws ConnectionException {
+		LOG.debug("exportJobSpool {} {} {}", jobID, target, startRecord);
+
+		StandardOpenOption mode = startRecord > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+
+		try (FileChannel fc = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+			return exportJobSpool(jobID, fc, startRecord);
+		} catch (IOException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
+	/**
+	 * Exports spool in chunks of {@link #EXPORT_CHUNK} records, so memory is bounded by the chunk size
+	 * and not by the size of the spool. The spool is written UTF-8 encoded.
+	 * @param startRecord the number of records to skip, e.g. {@link SpoolExport#getNextRecord()} of a failed export
+	 * @return the number of records and bytes written, and the error if the export stopped early
+	 */
+	public SpoolExport exportJobSpool(String jobID, WritableByteChannel channel, long startRecord) throws ConnectionException {
+		LOG.debug("exportJobSpool {} {} {}", jobID, channel, startRecord);
+
+		String[] split = jobID.split("\\.");
+
+		List<JobFile> files;
+
+		try {
+			if (split.length == 2) {
+				JobFile file = jobCache.getSpoolFile(split[0], Long.parseLong(split[1]));
+
+				files = file == null ? Collections.emptyList() : Collections.singletonList(file);
+			} else {
+				files = jobCache.getSpoolFiles(jobID);
+			}
+		} catch (ZosmfRequestException | NumberFormatException e) {
+			throw new ConnectionException(e);
+		}
+
+		SpoolExport export = new SpoolExport(startRecord);
+
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+		ByteBuffer buffer = ByteBuffer.allocate(EXPORT_BUFFER);
+
+		long skip = startRecord;
+
+		try {
+			for (JobFile file : files) {
+				long count = file.getRecordCount() == null ? -1L : file.getRecordCount();
+
+				if (count >= 0 && skip >= count) {
+					skip -= count;
+
+					continue;
+				}
+
+				long next = skip;
+				skip = 0;
+
+				while (count < 0 || next < count) {
+					String chunk = downloadRecords(file.getRecordsUrl(), next, EXPORT_CHUNK);
+
+					if (chunk.isEmpty()) {
+						break;
+					}
+
+					long n = countRecords(chunk);
+
+					export.add(n, write(channel, encoder, buffer, chunk));
+
+					next += n;
+
+					LOG.debug("Exported {} records of {}.{}, {}", next, jobID, file.getId(), export);
+
+					if (count < 0 && n < EXPORT_CHUNK) {
+						break;
+					}
+				}
+			}
+		} catch (ZosmfRequestException | IOException e) {
+			export.finish(new ConnectionException(e));
+
+			return export;
+		}
+
+		export.finish(null);
+
+		LOG.info("Exported spool of {}: {}", jobID, export);
+
+		return export;
+	}
+
+	/**
+	 * Starts the listener for the job notifications of z/OSMF. Jobs submitted while the listener is active
+	 * name it as notification target.
+	 * @param callbackHost the host name or address under which z/OSMF reaches this machine, the listener binds to its interface
+	 * @param port the port to listen on, 0 for any free port
+	 * @param fallbackDelay milliseconds to wait for a notification before the job is polled
+	 */
+	public synchronized JobNotificationListener startNotificationListener(String callbackHost, int port, long fallbackDelay) throws ConnectionException {
+		LOG.debug("startNotificationListener {} {} {}", callbackHost, port, fallbackDelay);
+
+		stopNotificationListener();
+
+		JobNotificationListener nl = new JobNotificationListener(this, callbackHost, fallbackDelay);
+
+		try {
+			nl.start(port);
+		} catch (IOException e) {
+			throw new ConnectionException(e);
+		}
+
+		notificationListener = nl;
+
+		return nl;
+	}
+
+	public synchronized void stopNotificationListener() {
+		if (notificationListener != null) {
+			notificationListener.close();
+
+			notificationListener = null;
+		}
+	}
+
+	public SpoolFollower followJobSpool(String jobID) throws ConnectionException {
+		LOG.debug("followJobSpool {}", jobID);
+
+		// Either "JOBID" for the whole spool or "JOBID.FILEID" for a single spool file
+		String[] split = jobID.split("\\.");
+
+		try {
+			return new SpoolFollower(this, jobGets.get().getById(split[0]), split.length > 1 ? Long.valueOf(split[1]) : null);
+		} catch (ZosmfRequestException | NumberFormatException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
+	public synchronized JobWatcher getJobWatcher() {
+		if (jobWatcher == null) {
+			jobWatcher = new JobWatcher(this);
+		}
+
+		return jobWatcher;
+	}
+
+	public void watchJob(String jobID, JobWatcher.Listener listener) throws ConnectionException {
+		LOG.debug("watchJob {}", jobID);
+
+		Job job;
+
+		try {
+			job = jobGets.get().getById(jobID);
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+
+		if (JobStatus.OUTPUT.name().equals(job.getStatus())) {
+			listener.jobCompleted(convertJob(job), getJobCompletion(job));
+		} else {
+			getJobWatcher().watch(job.getJobName(), job.getJobId(), job.getOwner(), listener);
+		}
+	}
+
+	public synchronized void shutdown() {
+		shutdown = true;
+
+		stopNotificationListener();
+
+		if (jobWatcher != null) {
+			jobWatcher.close();
+
+			jobWatcher = null;
+		}
+
+		jobCache.clear();
+		spoolIndex.save();
+
+		if (submitter != null) {
+			for (Runnable r : submitter.shutdownNow()) {
+				if (r instanceof SubmitTask) {
+					((SubmitTask) r).handle.fail(new ConnectionException("Connection shut down"));
+				}
+			}
+
+			submitter = null;
+		}
+
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+
+			scheduler = null;
+		}
+	}
+
+	synchronized ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(daemon("zowe-job-poller"));
+		}
+
+		return scheduler;
+	}
+
+	synchronized JobNotificationListener getNotificationListener() {
+		return notificationListener;
+	}
+
+	synchronized ExecutorService getSubmitter() {
+		if (submitter == null) {
+			submitter = Executors.newFixedThreadPool(SUBMIT_PARALLELISM, daemon("zowe-job-submit"));
+		}
+
+		return submitter;
+	}
+
+	List<Job> getJobs(String owner, String prefix, int maxJobs) throws ZosmfRequestException {
+		List<Job> result = new ArrayList<>();
+
+		listJobs(owner, prefix, maxJobs, false, result::add);
+
+		return result;
+	}
+
+	/**
+	 * Lists jobs without the intermediate JSON tree of {@link JobGet#getCommon}, every job is
+	 * deserialized directly from the response stream.
+	 */
+	void listJobs(String owner, String prefix, int maxJobs, boolean activeOnly, Consumer<Job> consumer) throws ZosmfRequestException {
+		List<String> query = new ArrayList<>(4);
+
+		if (owner != null && !owner.isEmpty()) {
+			query.add(JobsConstants.QUERY_OWNER + EncodeUtils.encodeURIComponent(owner));
+		}
+
+		if (prefix != null && !prefix.isEmpty()) {
+			query.add(JobsConstants.QUERY_PREFIX + EncodeUtils.encodeURIComponent(prefix));
+		}
+
+		if (maxJobs > 0) {
+			query.add(JobsConstants.QUERY_MAX_JOBS + maxJobs);
+		}
+
+		if (activeOnly) {
+			query.add("status=active");
+		}
+
+		String url = connection.getZosmfUrl() + JobsConstants.RESOURCE;
+
+		if (!query.isEmpty()) {
+			url += JobsConstants.QUERY_ID + String.join("&", query);
+		}
+
+		new JobListRequest(connection, url).list(consumer);
+	}
+
+	Job getJobById(String jobID) throws ZosmfRequestException {
+		return jobGets.get().getById(jobID);
+	}
+
+	List<JobFile> getSpoolFiles(Job job) throws ZosmfRequestException {
+		return jobGets.get().getSpoolFilesByJob(job);
+	}
+
+	String getJobStatus(String jobID) throws ZosmfRequestException {
+		return getJobById(jobID).getStatus();
+	}
+
+	String downloadRecords(String url, long start, long count) throws ZosmfRequestException {
+		Response r = download(url, Collections.singletonMap(RECORD_RANGE, String.format("%d,%d", start, count)));
+
+		return (String) r.getResponsePhrase().orElse("");
+	}
+
+	ZOSConnectionResponse convertJob(Job job) {
 		ZOSConnectionResponse cr = new ZOSConnectionResponse();
 
 		cr.addAttribute(IZOSConstants.NAME, job.getJobName());
 		cr.addAttribute(IZOSConstants.JOB_ID, job.getJobId());
 		cr.addAttribute(IZOSConstants.JOB_USER, job.getOwner());
-		cr.addAttribute(IZOSConstants.JOB_STATUS, IZOSConstants.JobStatus.valueOf(job.getStatus()));
+		cr.addAttribute(IZOSConstants.JOB_STATUS, JOB_STATUS.get(job.getStatus()));
 		cr.addAttribute(IZOSConstants.JOB_CLASS, job.getClasss());
 		cr.addAttribute(IZOSConstants.JOB_SPOOL_FILES_AVAILABLE, true);
 		cr.addAttribute(IZOSConstants.JOB_HAS_SPOOL_FILES, true);
 
-		String retCode = job.getRetCode();
-			
+		String[] split = splitRetCode(job);
+
+		cr.addAttribute(IZOSConstants.JOB_ERROR_CODE, split.length == 2 ? split[1] : "");
+		cr.addAttribute(IZOSConstants.JOB_COMPLETION, getJobCompletion(split));
+
+		return cr;
+	}
+
+	IJob.JobCompletion getJobCompletion(Job job) {
+		return getJobCompletion(splitRetCode(job));
+	}
+
+	private JobHandle submitAsync(String source, Submission submission, boolean track) {
+		JobHandle handle = new JobHandle(source);
+
+		try {
+			getSubmitter().execute(new SubmitTask(handle, submission, track));
+		} catch (RejectedExecutionException e) {
+			handle.fail(new ConnectionException(e));
+		}
+
+		return handle;
+	}
+
+	private static long write(WritableByteChannel channel, CharsetEncoder encoder, ByteBuffer buffer, String s) throws IOException {
+		long written = 0;
+
+		CharBuffer in = CharBuffer.wrap(s);
+
+		encoder.reset();
+
+		for (boolean endOfInput = false;;) {
+			CoderResult cr = endOfInput ? encoder.flush(buffer) : encoder.encode(in, buffer, true);
+
+			if (cr.isError()) {
+				cr.throwException();
+			}
+
+			buffer.flip();
+
+			while (buffer.hasRemaining()) {
+				written += channel.write(buffer);
+			}
+
+			buffer.clear();
+
+			if (cr.isUnderflow()) {
+				if (endOfInput) {
+					return written;
+				}
+
+				endOfInput = true;
+			}
+		}
+	}
+
+	private static long countRecords(String s) {
+		long n = 0;
+
+		for (int i = 0; i < s.length(); ++i) {
+			if (s.charAt(i) == '\n') {
+				++n;
+			}
+		}
+
+		// The last record may lack the line break
+		return s.charAt(s.length() - 1) == '\n' ? n : n + 1;
+	}
+
+	/**
+	 * Notifies the listener when the job has ended, by the notification listener if it is active,
+	 * otherwise by the job watcher.
+	 */
+	private void trackJob(Job job, JobWatcher.Listener listener) {
+		if (JobStatus.OUTPUT.name().equals(job.getStatus())) {
+			listener.jobCompleted(convertJob(job), getJobCompletion(job));
+
+			return;
+		}
+
+		synchronized (this) {
+			// A job submitted while shutting down isn't tracked by a new watcher
+			if (!shutdown) {
+				if (notificationListener != null) {
+					notificationListener.expect(job, listener);
+				} else {
+					getJobWatcher().watch(job.getJobName(), job.getJobId(), job.getOwner(), listener);
+				}
+
+				return;
+			}
+		}
+
+		listener.jobFailed(job.getJobId(), new ConnectionException("Connection shut down"));
+	}
+
+	private Job submitJcl(JobSubmit js, InputStream stream, Charset charset) throws ZosmfRequestException, IOException {
+		String jcl;
+
+		try (InputStream is = stream) {
+			jcl = IOUtils.toString(is, charset);
+		}
+
+		JobNotificationListener nl = getNotificationListener();
+
+		if (nl == null) {
+			return js.submitByJcl(jcl, null, null);
+		}
+
+		Map<String, String> headers = new HashMap<>();
+		headers.put("X-IBM-Intrdr-Class", "A");
+		headers.put("X-IBM-Intrdr-Recfm", "F");
+		headers.put("X-IBM-Intrdr-Lrecl", "80");
+		headers.put("X-IBM-Intrdr-Mode", "TEXT");
+
+		return submitNotified(jcl, headers, nl.getUrl());
+	}
+
+	private Job submitMember(JobSubmit js, String member) throws ZosmfRequestException, IOException {
+		JobNotificationListener nl = getNotificationListener();
+
+		if (nl == null) {
+			return js.submit(member);
+		}
+
+		return submitNotified(String.format("{\"file\":\"//'%s'\"}", member), Collections.singletonMap("Content-Type", "application/json"), nl.getUrl());
+	}
+
+	/**
+	 * The SDK cannot add the notification header, so the submit request is built here.
+	 */
+	private Job submitNotified(String body, Map<String, String> headers, String url) throws ZosmfRequestException, IOException {
+		Map<String, String> h = new HashMap<>(headers);
+		h.put(NOTIFICATION_URL, url);
+
+		ZosmfRequest request = ZosmfRequestFactory.buildRequest(connection, ZosmfRequestType.PUT_TEXT);
+
+		request.setUrl(connection.getZosmfUrl() + JobsConstants.RESOURCE);
+		request.setHeaders(h);
+		request.setBody(body);
+
+		return JOB_READER.readValue((String) request.executeRequest().getResponsePhrase().orElse("{}"));
+	}
+
+	private static ZOSConnectionResponse convertSubmitted(Job job) {
+		ZOSConnectionResponse cr = new ZOSConnectionResponse();
+		cr.addAttribute(IZOSConstants.JOB_NAME, job.getJobName());
+		cr.addAttribute(IZOSConstants.JOB_ID, job.getJobId());
+		cr.addAttribute(IZOSConstants.JOB_USER, job.getOwner());
+
+		return cr;
+	}
+
+	private Job resolveJob(String jobId) {
+		try {
+			return jobCache.getJob(jobId);
+		} catch (ZosmfRequestException | IllegalArgumentException | IllegalStateException e) {
+			LOG.debug("Job {} not found", jobId, e);
+
+			// Reported as failed by modifyJob
+			return Job.builder().jobId(jobId).build();
+		}
+	}
+
+	private List<Job> listJobs(String jobName, IZOSConstants.JobStatus aJobStatus, String owner) throws ConnectionException {
+		List<Job> jobs = new ArrayList<>();
+
+		try {
+			listJobs(owner, jobName, 0, aJobStatus == JobStatus.ACTIVE, job -> {
+				if (aJobStatus == JobStatus.ALL || aJobStatus.name().equals(job.getStatus())) {
+					jobs.add(job);
+				}
+			});
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+
+		return jobs;
+	}
+
+	/**
+	 * Purges or cancels jobs addressed by name and id. Every worker uses its own {@link JobDelete}
+	 * and {@link JobCancel} because these reuse a single, mutable request.
+	 * @param resolve looks up name and id of a job, run by the workers, too
+	 */
+	private <T> List<BulkJobResult> modifyJobs(List<T> jobs, Function<T, Job> resolve, boolean purge, int parallelism) throws ConnectionException {
+		BulkJobResult[] results = new BulkJobResult[jobs.size()];
+		AtomicInteger next = new AtomicInteger();
+
+		int threads = Math.max(1, Math.min(parallelism, jobs.size()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, daemon("zowe-job-bulk"));
+
+		try {
+			List<Future<?>> futures = new ArrayList<>(threads);
+
+			for (int i = 0; i < threads; ++i) {
+				futures.add(executor.submit(() -> {
+					JobDelete delete = purge ? new JobDelete(connection) : null;
+					JobCancel cancel = purge ? null : new JobCancel(connection);
+
+					for (int j = next.getAndIncrement(); j < results.length; j = next.getAndIncrement()) {
+						results[j] = modifyJob(resolve.apply(jobs.get(j)), delete, cancel);
+					}
+				}));
+			}
+
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new ConnectionException(e);
+		} catch (ExecutionException e) {
+			throw new ConnectionException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return Arrays.asList(results);
+	}
+
+	private BulkJobResult modifyJob(Job job, JobDelete delete, JobCancel cancel) {
+		String jobName = job.getJobName();
+		String jobId = job.getJobId();
+
+		if (jobName == null || jobName.isEmpty()) {
+			return new BulkJobResult(jobName, jobId, new ConnectionException(String.format("Job %s not found", jobId)));
+		}
+
+		try {
+			Response r;
+
+			if (delete != null) {
+				r = delete.delete(jobName, jobId, "2.0");
+
+				spoolCache.invalidate(jobId);
+				spoolIndex.remove(jobId);
+			} else {
+				r = cancel.cancel(jobName, jobId, null);
+			}
+
+			jobCache.invalidate(jobId);
+
+			LOG.debug("modifyJob {}", r);
+		} catch (ZosmfRequestException | IllegalArgumentException | IllegalStateException e) {
+			return new BulkJobResult(jobName, jobId, new ConnectionException(e));
+		}
+
+		return new BulkJobResult(jobName, jobId, null);
+	}
+
+	private static ThreadFactory daemon(String name) {
+		return r -> {
+			Thread t = new Thread(r, name);
+			t.setDaemon(true);
+
+			return t;
+		};
+	}
+
+	private static String[] splitRetCode(Job job) {
+		// Active jobs don't have a return code yet
+		String retCode = job.getRetCode() == null ? "" : job.getRetCode();
+
+		return retCode.split("[\\s]", 2);
+	}
+
+	private IJob.JobCompletion getJobCompletion(String[] split) {
 		IJob.JobCompletion jc;
-			
-		String[] split = retCode.split("[\\s]", 2);
-			
+
 		switch (split[0]) {
 		case "JCL":
 			jc = IJob.JobCompletion.JCLERROR;
@@ -282,18 +1068,46 @@ public class ZoweJobConnection {
 				jc = IJob.JobCompletion.NA;
 			}
 		}
-			
-		cr.addAttribute(IZOSConstants.JOB_ERROR_CODE, split.length == 2 ? split[1] : "");
-		cr.addAttribute(IZOSConstants.JOB_COMPLETION, jc);
 
-		return cr;
+		return jc;
+	}
+
+	private String getSpoolContent(Job job, JobFile file) throws ZosmfRequestException {
+		// The spool of a job in OUTPUT is immutable and can be served from the cache
+		boolean complete = JobStatus.OUTPUT.name().equals(job.getStatus());
+
+		String content = complete ? spoolCache.get(job, file.getId()) : null;
+
+		if (content == null) {
+			response = download(file.getRecordsUrl());
+
+			content = (String) response.getResponsePhrase().orElse("");
+
+			if (complete) {
+				spoolCache.put(job, file.getId(), content);
+			}
+		}
+
+		if (complete && !spoolIndex.contains(job, file.getId())) {
+			spoolIndex.add(job, file.getId(), file.getDdName(), content);
+		}
+
+		return content;
 	}
 
 	private Response download(String url) throws ZosmfRequestException {
+		return download(url, Collections.emptyMap());
+	}
+
+	private Response download(String url, Map<String, String> headers) throws ZosmfRequestException {
 		ZosmfRequest request = ZosmfRequestFactory.buildRequest(connection, ZosmfRequestType.GET_TEXT);
 
 		request.setUrl(url);
 
+		if (!headers.isEmpty()) {
+			request.setHeaders(headers);
+		}
+
 		return request.executeRequest();
 	}
 }
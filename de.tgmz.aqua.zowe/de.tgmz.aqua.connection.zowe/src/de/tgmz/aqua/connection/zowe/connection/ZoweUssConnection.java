@@ -9,21 +9,39 @@
 **********************************************************************/
 package de.tgmz.aqua.connection.zowe.connection;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,15 +55,14 @@ import zowe.client.sdk.core.ZosConnection;
 import zowe.client.sdk.rest.Response;
 import zowe.client.sdk.rest.exception.ZosmfRequestException;
 import zowe.client.sdk.zosfiles.uss.input.UssChangeModeInputData;
+import zowe.client.sdk.zosfiles.uss.input.UssChangeOwnerInputData;
 import zowe.client.sdk.zosfiles.uss.input.UssCreateInputData;
-import zowe.client.sdk.zosfiles.uss.input.UssGetInputData;
 import zowe.client.sdk.zosfiles.uss.input.UssListInputData;
 import zowe.client.sdk.zosfiles.uss.methods.UssChangeMode;
+import zowe.client.sdk.zosfiles.uss.methods.UssChangeOwner;
 import zowe.client.sdk.zosfiles.uss.methods.UssCreate;
 import zowe.client.sdk.zosfiles.uss.methods.UssDelete;
-import zowe.client.sdk.zosfiles.uss.methods.UssGet;
 import zowe.client.sdk.zosfiles.uss.methods.UssList;
-import zowe.client.sdk.zosfiles.uss.methods.UssWrite;
 import zowe.client.sdk.zosfiles.uss.model.UnixFile;
 import zowe.client.sdk.zosfiles.uss.types.CreateType;
 
@@ -54,21 +71,41 @@ public class ZoweUssConnection {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ZoweUssConnection.class);
 
+	static final int PARALLELISM = 4;
+
+	/** Maximum number of symlinks followed when resolving a link target */
+	private static final int MAX_LINKS = 8;
+
+	private final ZosConnection connection;
+
 	private Response response;
 
-	private UssList ussList;
-	private UssGet ussGet;
-	private UssDelete ussDelete;
-	private UssCreate ussCreate;
-	private UssWrite ussWrite;
+	private final UssCache cache;
+
+	/** The SDK methods aren't thread safe, so every pool thread uses its own instances */
+	private final ThreadLocal<UssList> ussLists;
+	private final ThreadLocal<UssDelete> ussDeletes;
+	private final ThreadLocal<UssCreate> ussCreates;
+
+	private ForkJoinPool pool;
+
 	private UssChangeMode ussChangeMode;
 
 	public ZoweUssConnection(ZosConnection connection) {
-		ussList = new UssList(connection);
-		ussGet = new UssGet(connection);
-		ussDelete = new UssDelete(connection);
-		ussCreate = new UssCreate(connection);
-		ussWrite = new UssWrite(connection);
+		this(connection, new UssCache());
+	}
+
+	/**
+	 * @param cache the cache shared with the other endpoints of the connection
+	 */
+	ZoweUssConnection(ZosConnection connection, UssCache cache) {
+		this.connection = connection;
+		this.cache = cache;
+
+		ussLists = ThreadLocal.withInitial(() -> new UssList(connection));
+		ussDeletes = ThreadLocal.withInitial(() -> new UssDelete(connection));
+		ussCreates = ThreadLocal.withInitial(() -> new UssCreate(connection));
+
 		ussChangeMode = new UssChangeMode(connection);
 	}
 
@@ -77,15 +114,24 @@ public class ZoweUssConnection {
 
 		String path = normalizePath(aPath);
 
-		List<UnixFile> items;
+		List<UnixFile> items = cache.getListing(path);
 
-		try {
-			items = ussList.getFiles(new UssListInputData.Builder().path(path).depth(1).build());
-		} catch (ZosmfRequestException e) {
-			throw new ConnectionException(e);
+		if (items == null) {
+			try {
+				items = ussLists.get().getFiles(new UssListInputData.Builder().path(path).depth(1).build());
+			} catch (ZosmfRequestException e) {
+				if (isNotFound(e)) {
+					cache.putMissing(path);
+				}
+
+				throw new ConnectionException(e);
+			}
+
+			cache.putListing(path, items);
 		}
 
 		List<ZOSConnectionResponse> result = new ArrayList<>(items.size());
+		Map<String, List<ZOSConnectionResponse>> links = new LinkedHashMap<>();
 
 		for (UnixFile item : items) {
 			String name = item.getName();
@@ -111,15 +157,7 @@ public class ZoweUssConnection {
 					cr.addAttribute(IZOSConstants.HFS_SYMLINK, Boolean.TRUE);
 					cr.addAttribute(IZOSConstants.HFS_LINKPATH, target);
 
-					String itemPath = normalizePath(String.format("%s/%s", path, name));
-				
-					try {
-						ussGet.getCommon(itemPath, new UssGetInputData.Builder().insensitive(false).maxreturnsize(1).search(itemPath).build());
-					
-						cr.addAttribute(IZOSConstants.HFS_DIRECTORY, Boolean.FALSE);
-					} catch (ZosmfRequestException e) {
-						cr.addAttribute(IZOSConstants.HFS_DIRECTORY, Boolean.TRUE);
-					}
+					links.computeIfAbsent(resolvePath(path, target), k -> new ArrayList<>()).add(cr);
 				} else {
 					cr.addAttribute(IZOSConstants.HFS_SYMLINK, Boolean.FALSE);
 					cr.addAttribute(IZOSConstants.HFS_DIRECTORY, mode.startsWith("d"));
@@ -129,29 +167,105 @@ public class ZoweUssConnection {
 			}
 		}
 
+		if (!links.isEmpty()) {
+			Map<String, Boolean> directories = resolveLinks(links.keySet(), Collections.singletonMap(path, items));
+
+			for (Map.Entry<String, List<ZOSConnectionResponse>> e : links.entrySet()) {
+				for (ZOSConnectionResponse cr : e.getValue()) {
+					cr.addAttribute(IZOSConstants.HFS_DIRECTORY, directories.get(e.getKey()));
+				}
+			}
+		}
+
 		return result;
 	}
 
+	/**
+	 * Loads the listing of a directory into the cache unless it is cached already.
+	 * @return the number of entries listed
+	 */
+	int prefetchListing(String aPath) throws ConnectionException {
+		LOG.debug("prefetchListing {}", aPath);
+
+		String path = normalizePath(aPath);
+
+		if (cache.getListing(path) != null) {
+			return 0;
+		}
+
+		List<UnixFile> items;
+
+		try {
+			items = ussLists.get().getFiles(new UssListInputData.Builder().path(path).depth(1).build());
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+
+		cache.putListing(path, items);
+
+		return items.size();
+	}
+
 	public boolean existsHFS(String aPath) throws ConnectionException {
 		LOG.debug("existsHFS {}", aPath);
 
-		UssGetInputData params = new UssGetInputData.Builder().insensitive(false).search(aPath).build();
-		
-		try {
-			response = ussGet.getCommon(aPath, params);
+		String path = normalizePath(aPath);
+		Boolean cached = cache.exists(path);
 
-			LOG.debug("ussGet {}", response);
-		} catch (ZosmfRequestException e) {
-			OptionalInt oStatusCode = e.getResponse().getStatusCode();
+		if (cached != null) {
+			return cached;
+		}
 
-			if (oStatusCode.isPresent() && oStatusCode.getAsInt() == 404) {
-				return false;
-			} else {
-				throw new ConnectionException(e);
+		return stat(Collections.singletonList(path), true).containsKey(path);
+	}
+
+	/**
+	 * Checks the existence of many paths. The paths are grouped by parent directory and every parent is listed once.
+	 * @return whether the paths exist, by path
+	 */
+	public Map<String, Boolean> existsHFS(Collection<String> paths) throws ConnectionException {
+		LOG.debug("existsHFS {}", paths);
+
+		Map<String, UnixFile> files = statHFS(paths);
+		Map<String, Boolean> result = new LinkedHashMap<>();
+
+		for (String p : paths) {
+			result.put(p, files.containsKey(p));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets the metadata of a path from a listing of its parent filtered to its name. The content isn't read.
+	 * @return the metadata or <code>null</code> if the path doesn't exist
+	 */
+	public UnixFile statHFS(String aPath) throws ConnectionException {
+		LOG.debug("statHFS {}", aPath);
+
+		return statHFS(Collections.singletonList(aPath)).get(aPath);
+	}
+
+	/**
+	 * Gets the metadata of many paths. The paths are grouped by parent directory and every parent is listed once.
+	 * @return the metadata of the existing paths, by path
+	 */
+	public Map<String, UnixFile> statHFS(Collection<String> paths) throws ConnectionException {
+		Map<String, List<String>> byPath = new LinkedHashMap<>();
+
+		for (String p : paths) {
+			byPath.computeIfAbsent(normalizePath(p), k -> new ArrayList<>()).add(p);
+		}
+
+		Map<String, UnixFile> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, UnixFile> e : stat(byPath.keySet(), true).entrySet()) {
+			for (String p : byPath.get(e.getKey())) {
+				result.put(p, e.getValue());
 			}
 		}
 
-		return true;
+		return result;
 	}
 
 	public boolean existsHFSFile(String aPath, String aName) throws ConnectionException {
@@ -166,9 +280,11 @@ public class ZoweUssConnection {
 		UssCreateInputData param = new UssCreateInputData(CreateType.DIR, "rwxr-xr-x");
 		
 		try {
-			response = ussCreate.create(aPath, param);
+			response = ussCreates.get().create(aPath, param);
 
 			LOG.debug("ussCreate {}", response);
+
+			invalidate(aPath, true);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
@@ -177,9 +293,11 @@ public class ZoweUssConnection {
 	public void deletePathHFS(String aPath) throws ConnectionException {
 		LOG.debug("deletePathHFS {}", aPath);
 		try {
-			response = ussDelete.delete(aPath, true);
+			response = ussDeletes.get().delete(aPath, true);
 
 			LOG.debug("ussDelete {}", response);
+
+			invalidate(aPath, true);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
@@ -188,66 +306,689 @@ public class ZoweUssConnection {
 	public void saveFileHFS(String aPath, InputStream fileContents, IZOSConstants.FileType aFileType) throws ConnectionException {
 		LOG.debug("saveFileHFS {} {} {}", aPath, fileContents, aFileType);
 
-		try {
-			byte[] content = IOUtils.toByteArray(fileContents);
-			
-			if (aFileType == FileType.BINARY) {
-				ussWrite.writeBinary(aPath, content);
-			} else {
-				ussWrite.writeText(aPath, new String(content));
-			}
-		} catch (ZosmfRequestException | IOException e) {
-			throw new ConnectionException(e);
+		if (aFileType == FileType.BINARY) {
+			upload(aPath, fileContents, true);
+		} else {
+			// Text is sent as UTF-8
+			upload(aPath, TranscodingInputStream.of(fileContents, Charset.defaultCharset(), StandardCharsets.UTF_8), false);
 		}
 	}
 
 	public void saveFileHFS(String filePath, InputStream fileContents, String charset) throws ConnectionException {
 		LOG.debug("saveFileHFS {} {} {}", filePath, fileContents, charset);
 
-		try (InputStreamReader r = new InputStreamReader(fileContents)) {
-			ussWrite.writeBinary(filePath, IOUtils.toByteArray(r, Charset.forName(charset)));
-		} catch (ZosmfRequestException | IOException e) {
-			throw new ConnectionException(e);
-		}
+		upload(filePath, TranscodingInputStream.of(fileContents, Charset.defaultCharset(), Charset.forName(charset)), true);
 	}
 
 	public ByteArrayOutputStream getFileHFS(String aPath, FileType p1) throws ConnectionException {
 		LOG.debug("getFileHFS {}, {}", aPath, p1);
 
-		byte[] content;
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+		getFileHFS(aPath, p1, baos);
+
+		return baos;
+	}
+
+	/**
+	 * Downloads a file into a stream without holding its content in memory. Text is written in the default charset.
+	 * @return the number of bytes written
+	 */
+	public long getFileHFS(String aPath, FileType p1, OutputStream os) throws ConnectionException {
+		LOG.debug("getFileHFS {}, {}, {}", aPath, p1, os);
+
+		try {
+			return new UssStreamRequest(connection, aPath, p1 == FileType.BINARY).download(os, Charset.defaultCharset());
+		} catch (ZosmfRequestException | IOException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
+	public void changePermissions(String aPath, String octal) throws ConnectionException {
+		LOG.debug("changePermissions {} {}", aPath, octal);
 
 		try {
-			if (p1 == FileType.BINARY) {
-				content = ussGet.getBinary(aPath);
+			ussChangeMode.change(aPath, new UssChangeModeInputData.Builder().mode(octal).build());
+
+			invalidate(aPath, false);
+		} catch (ZosmfRequestException e) {
+			throw new ConnectionException(e);
+		}
+	}
+
+	/**
+	 * Changes the permissions of many paths in parallel. A failure doesn't stop the other paths.
+	 * @param recursive whether z/OSMF changes the trees below directories, too. Paths below other
+	 * given paths are covered then and left out.
+	 */
+	public List<UssBulkResult> changePermissions(Collection<String> paths, String octal, boolean recursive, int parallelism) throws ConnectionException {
+		LOG.debug("changePermissions {} {} {} {}", paths, octal, recursive, parallelism);
+
+		UssChangeModeInputData params = new UssChangeModeInputData.Builder().mode(octal).recursive(recursive).build();
+
+		return modify(recursive ? topMost(paths) : new ArrayList<>(paths), recursive, parallelism, () -> {
+			UssChangeMode changeMode = new UssChangeMode(connection);
+
+			return p -> changeMode.change(p, params);
+		});
+	}
+
+	/**
+	 * Changes owner and, optionally, group of many paths in parallel. A failure doesn't stop the other paths.
+	 * @param group the new group or <code>null</code>
+	 * @param recursive whether z/OSMF changes the trees below directories, too. Paths below other
+	 * given paths are covered then and left out.
+	 */
+	public List<UssBulkResult> changeOwner(Collection<String> paths, String owner, String group, boolean recursive, int parallelism) throws ConnectionException {
+		LOG.debug("changeOwner {} {} {} {} {}", paths, owner, group, recursive, parallelism);
+
+		UssChangeOwnerInputData.Builder builder = new UssChangeOwnerInputData.Builder().owner(owner).recursive(recursive);
+
+		if (group != null) {
+			builder.group(group);
+		}
+
+		UssChangeOwnerInputData params = builder.build();
+
+		return modify(recursive ? topMost(paths) : new ArrayList<>(paths), recursive, parallelism, () -> {
+			UssChangeOwner changeOwner = new UssChangeOwner(connection);
+
+			return p -> changeOwner.changeCommon(p, params);
+		});
+	}
+
+	/**
+	 * Deletes many paths recursively and in parallel. Paths below other given paths are left out.
+	 * A failure doesn't stop the other paths.
+	 */
+	public List<UssBulkResult> deletePathsHFS(Collection<String> paths, int parallelism) throws ConnectionException {
+		LOG.debug("deletePathsHFS {} {}", paths, parallelism);
+
+		return modify(topMost(paths), true, parallelism, () -> {
+			UssDelete delete = new UssDelete(connection);
+
+			return p -> delete.delete(p, true);
+		});
+	}
+
+	/**
+	 * Finds the files and directories below a directory whose name matches a glob pattern with
+	 * <code>*</code> and <code>?</code>, for use with the bulk operations.
+	 * @return the matching paths, sorted
+	 */
+	public List<String> globHFS(String aPath, String glob) throws ConnectionException {
+		LOG.debug("globHFS {} {}", aPath, glob);
+
+		List<String> result = new ArrayList<>();
+
+		UssWalkResult walk = walkHFS(aPath).name(glob).walk((p, file) -> result.add(p));
+
+		if (!walk.getErrors().isEmpty()) {
+			throw new ConnectionException("Cannot list " + walk.getErrors().keySet());
+		}
+
+		Collections.sort(result);
+
+		return result;
+	}
+
+	/**
+	 * Creates a walker for the tree below a directory. The walker is configured and started by the caller.
+	 */
+	public UssTreeWalker walkHFS(String aPath) {
+		LOG.debug("walkHFS {}", aPath);
+
+		return new UssTreeWalker(this, normalizePath(aPath));
+	}
+
+	/**
+	 * Creates a synchronization of a local directory with a USS directory. It is configured and started by the caller.
+	 */
+	public UssSync syncHFS(File local, String aPath) {
+		LOG.debug("syncHFS {}, {}", local, aPath);
+
+		return new UssSync(this, local, normalizePath(aPath));
+	}
+
+	/**
+	 * Downloads a binary file in parallel chunks. Calling it again for the same target resumes a failed download.
+	 */
+	public UssTransfer downloadFileHFS(String aPath, File target) throws ConnectionException {
+		return downloadFileHFS(aPath, target, UssChunkedTransfer.CHUNK_SIZE);
+	}
+
+	public UssTransfer downloadFileHFS(String aPath, File target, int chunkSize) throws ConnectionException {
+		LOG.debug("downloadFileHFS {}, {}, {}", aPath, target, chunkSize);
+
+		return new UssChunkedTransfer(this, connection).download(aPath, target, chunkSize);
+	}
+
+	/**
+	 * Uploads a binary file to a temporary file which replaces the target after its size has been verified.
+	 */
+	public UssTransfer uploadFileHFS(File source, String aPath) throws ConnectionException {
+		LOG.debug("uploadFileHFS {}, {}", source, aPath);
+
+		return new UssChunkedTransfer(this, connection).upload(source, aPath);
+	}
+
+	/**
+	 * Shuts down the pool used for parallel listings.
+	 */
+	public synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+
+			pool = null;
+		}
+	}
+
+	UssCache getCache() {
+		return cache;
+	}
+
+	synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			pool = new ForkJoinPool(PARALLELISM);
+		}
+
+		return pool;
+	}
+
+	/**
+	 * Drops the cached metadata of a path which has been written.
+	 * @param tree whether the path has been created, replaced or deleted, which affects everything below it
+	 */
+	void invalidate(String aPath, boolean tree) {
+		String path = normalizePath(aPath);
+
+		cache.invalidate(path, tree);
+	}
+
+	/**
+	 * Lists the parents of normalized paths in parallel. A parent with a single path in question is listed
+	 * filtered to its name, other parents are listed completely and the listing is cached.
+	 * @param cached whether fresh cached listings are used
+	 * @return the metadata of the existing paths, by path
+	 */
+	Map<String, UnixFile> stat(Collection<String> paths, boolean cached) throws ConnectionException {
+		Map<String, UnixFile> result = new LinkedHashMap<>();
+
+		// Parent -> names to look up
+		Map<String, List<String>> open = new LinkedHashMap<>();
+
+		for (String p : paths) {
+			UnixFile file = cached ? cache.getFile(p) : null;
+
+			if (file != null) {
+				result.put(p, file);
+			} else if (!cached || !Boolean.FALSE.equals(cache.exists(p))) {
+				// A directory known from its own listing or the root still needs an entry from its parent
+				String parent = getParent(p);
+
+				// The root is found in its own listing
+				open.computeIfAbsent(parent == null ? p : parent, k -> new ArrayList<>()).add(parent == null ? "." : p.substring(p.lastIndexOf('/') + 1));
+			}
+		}
+
+		if (open.isEmpty()) {
+			return result;
+		}
+
+		List<String> parents = new ArrayList<>(open.keySet());
+		List<Callable<List<UnixFile>>> tasks = new ArrayList<>(parents.size());
+
+		for (String parent : parents) {
+			List<String> names = open.get(parent);
+
+			tasks.add(() -> {
+				if (names.size() == 1) {
+					return ussLists.get().getFiles(new UssListInputData.Builder().path(parent).name(names.get(0)).depth(1).build());
+				}
+
+				List<UnixFile> items = ussLists.get().getFiles(new UssListInputData.Builder().path(parent).depth(1).build());
+
+				cache.putListing(parent, items);
+
+				return items;
+			});
+		}
+
+		List<Future<List<UnixFile>>> futures = getPool().invokeAll(tasks);
+
+		for (int i = 0; i < parents.size(); ++i) {
+			String parent = parents.get(i);
+			List<String> names = open.get(parent);
+
+			List<UnixFile> items;
+
+			try {
+				items = futures.get(i).get();
+			} catch (ExecutionException e) {
+				Throwable cause = getCause(e);
+
+				if (cause instanceof ZosmfRequestException && isNotFound((ZosmfRequestException) cause)) {
+					cache.putMissing(parent);
+
+					items = Collections.emptyList();
+				} else {
+					throw new ConnectionException(cause);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				throw new ConnectionException(e);
+			}
+
+			for (String name : names) {
+				String p = ".".equals(name) ? parent : getChild(parent, name);
+				UnixFile file = find(items, name);
+
+				if (file != null) {
+					result.put(p, file);
+				} else {
+					cache.putMissing(p);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Lists a directory with the SDK instance of the current thread.
+	 */
+	List<UnixFile> list(String aPath, int depth, int maxLength) throws ZosmfRequestException {
+		return ussLists.get().getFiles(new UssListInputData.Builder().path(aPath).depth(depth).maxLength(maxLength).build());
+	}
+
+	/**
+	 * Determines whether symlink targets are directories. Instead of probing every target, the parent
+	 * directories of the targets are looked up once each and in parallel. Chained links are followed up
+	 * to {@link #MAX_LINKS} times. Targets which cannot be found are regarded as directories.
+	 * @param targets the absolute target paths
+	 * @param listed listings which are already known, by directory
+	 */
+	private Map<String, Boolean> resolveLinks(Collection<String> targets, Map<String, List<UnixFile>> listed) throws ConnectionException {
+		Map<String, Boolean> result = new HashMap<>();
+
+		// Original target -> path to look up next
+		Map<String, String> open = new LinkedHashMap<>();
+
+		for (String target : targets) {
+			Boolean cached = cache.getLinkTarget(target);
+
+			if (cached != null) {
+				result.put(target, cached);
+			} else {
+				open.put(target, target);
+			}
+		}
+
+		Map<String, Map<String, UnixFile>> listings = new HashMap<>();
+
+		for (Map.Entry<String, List<UnixFile>> e : listed.entrySet()) {
+			listings.put(e.getKey(), byName(e.getValue()));
+		}
+
+		// Entries looked up by name, null if not found, by path
+		Map<String, UnixFile> entries = new HashMap<>();
+
+		for (int i = 0; i < MAX_LINKS && !open.isEmpty(); ++i) {
+			Map<String, List<String>> names = new LinkedHashMap<>();
+
+			for (String p : open.values()) {
+				String parent = getParent(p);
+
+				if (parent != null && !listings.containsKey(parent) && !entries.containsKey(p)) {
+					List<String> l = names.computeIfAbsent(parent, k -> new ArrayList<>());
+					String name = p.substring(p.lastIndexOf('/') + 1);
+
+					if (!l.contains(name)) {
+						l.add(name);
+					}
+				}
+			}
+
+			lookup(names, listings, entries);
+
+			for (Iterator<Map.Entry<String, String>> it = open.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<String, String> e = it.next();
+
+				String p = e.getValue();
+				String parent = getParent(p);
+
+				UnixFile file = parent == null ? null : listings.containsKey(parent) ? listings.get(parent).get(p.substring(p.lastIndexOf('/') + 1)) : entries.get(p);
+				Boolean directory;
+
+				if (parent == null) {
+					// The root
+					directory = Boolean.TRUE;
+				} else if (file == null || StringUtil.isEmpty(file.getMode())) {
+					LOG.debug("Cannot find link target {}", p);
+
+					directory = Boolean.TRUE;
+				} else if (file.getMode().startsWith("l") && !StringUtil.isEmpty(file.getTarget())) {
+					e.setValue(resolvePath(parent, file.getTarget()));
+
+					continue;
+				} else {
+					directory = file.getMode().startsWith("d");
+				}
+
+				result.put(e.getKey(), directory);
+				cache.putLinkTarget(e.getKey(), directory);
+
+				it.remove();
+			}
+		}
+
+		for (String target : open.keySet()) {
+			LOG.debug("Too many levels of symbolic links {}", target);
+
+			result.put(target, Boolean.TRUE);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Looks up names in directories in parallel. A directory with a single name is listed filtered to it,
+	 * other directories are listed completely. Names missing from a truncated listing are looked up one
+	 * by one, so they aren't mistaken for missing ones. Directories which cannot be listed yield no entries.
+	 * @param names the names to look up, by directory
+	 * @param listings receives the complete listings, by directory
+	 * @param entries receives the entries looked up by name, <code>null</code> if not found, by path
+	 */
+	private void lookup(Map<String, List<String>> names, Map<String, Map<String, UnixFile>> listings, Map<String, UnixFile> entries) throws ConnectionException {
+		List<String> dirs = new ArrayList<>(names.keySet());
+		List<Callable<List<UnixFile>>> tasks = new ArrayList<>(dirs.size());
+
+		for (String dir : dirs) {
+			List<String> l = names.get(dir);
+
+			if (l.size() == 1) {
+				tasks.add(() -> listNamed(dir, l.get(0)));
 			} else {
-				content = ussGet.getText(aPath).getBytes();
+				tasks.add(() -> {
+					List<UnixFile> items = cache.getListing(dir);
+
+					if (items == null) {
+						items = list(dir, 1, UssTreeWalker.MAX_ITEMS);
+
+						if (items.size() < UssTreeWalker.MAX_ITEMS) {
+							cache.putListing(dir, items);
+						}
+					}
+
+					return items;
+				});
 			}
+		}
+
+		List<List<UnixFile>> results = invokeAll(tasks, dirs);
+
+		// Paths missing from truncated listings
+		List<String> unknown = new ArrayList<>();
+
+		for (int i = 0; i < dirs.size(); ++i) {
+			String dir = dirs.get(i);
+			List<String> l = names.get(dir);
+			List<UnixFile> items = results.get(i);
+
+			if (l.size() == 1) {
+				entries.put(getChild(dir, l.get(0)), find(items, l.get(0)));
+			} else if (items.size() < UssTreeWalker.MAX_ITEMS) {
+				listings.put(dir, byName(items));
+			} else {
+				LOG.debug("Listing of {} is truncated at {} entries", dir, UssTreeWalker.MAX_ITEMS);
+
+				Map<String, UnixFile> byName = byName(items);
+
+				for (String name : l) {
+					UnixFile file = byName.get(name);
+
+					if (file != null) {
+						entries.put(getChild(dir, name), file);
+					} else {
+						unknown.add(getChild(dir, name));
+					}
+				}
+			}
+		}
+
+		if (unknown.isEmpty()) {
+			return;
+		}
+
+		tasks.clear();
+
+		for (String p : unknown) {
+			tasks.add(() -> listNamed(getParent(p), p.substring(p.lastIndexOf('/') + 1)));
+		}
+
+		results = invokeAll(tasks, unknown);
+
+		for (int i = 0; i < unknown.size(); ++i) {
+			String p = unknown.get(i);
+
+			entries.put(p, find(results.get(i), p.substring(p.lastIndexOf('/') + 1)));
+		}
+	}
+
+	/**
+	 * Runs listings in parallel. Listings which fail yield an empty listing.
+	 * @param paths the listed paths for logging
+	 */
+	private List<List<UnixFile>> invokeAll(List<Callable<List<UnixFile>>> tasks, List<String> paths) throws ConnectionException {
+		List<Future<List<UnixFile>>> futures = getPool().invokeAll(tasks);
+		List<List<UnixFile>> result = new ArrayList<>(futures.size());
+
+		for (int i = 0; i < futures.size(); ++i) {
+			try {
+				result.add(futures.get(i).get());
+			} catch (ExecutionException e) {
+				LOG.debug("Cannot list {}", paths.get(i), e.getCause());
+
+				result.add(Collections.emptyList());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				throw new ConnectionException(e);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Lists a directory filtered to a name with the SDK instance of the current thread.
+	 */
+	private List<UnixFile> listNamed(String dir, String name) throws ZosmfRequestException {
+		return ussLists.get().getFiles(new UssListInputData.Builder().path(dir).name(name).depth(1).build());
+	}
+
+	private static String getChild(String dir, String name) {
+		return ("/".equals(dir) ? "" : dir) + "/" + name;
+	}
+
+	/**
+	 * Finds an entry by its exact name. A listing filtered to the name may contain other entries, since
+	 * z/OSMF treats the filter as a pattern.
+	 */
+	private static UnixFile find(List<UnixFile> items, String name) {
+		for (UnixFile item : items) {
+			if (name.equals(item.getName())) {
+				return item;
+			}
+		}
+
+		return null;
+	}
+
+	private static Map<String, UnixFile> byName(List<UnixFile> items) {
+		Map<String, UnixFile> result = new HashMap<>();
+
+		for (UnixFile item : items) {
+			if (!StringUtil.isEmpty(item.getName())) {
+				result.put(item.getName(), item);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Resolves a symlink target relative to the directory containing the link.
+	 */
+	static String resolvePath(String dir, String target) {
+		Deque<String> segments = new ArrayDeque<>();
+
+		for (String s : (target.startsWith("/") ? target : dir + "/" + target).split("/")) {
+			if ("..".equals(s)) {
+				segments.pollLast();
+			} else if (!s.isEmpty() && !".".equals(s)) {
+				segments.addLast(s);
+			}
+		}
+
+		return "/" + String.join("/", segments);
+	}
+
+	/**
+	 * @return the parent of an absolute, normalized path or <code>null</code> for the root
+	 */
+	static String getParent(String aPath) {
+		if ("/".equals(aPath)) {
+			return null;
+		}
+
+		int i = aPath.lastIndexOf('/');
+
+		return i == 0 ? "/" : aPath.substring(0, i);
+	}
+
+	private void upload(String aPath, InputStream is, boolean binary) throws ConnectionException {
+		UssStreamRequest request = new UssStreamRequest(connection, aPath, binary);
+		request.setBody(is);
+
+		try {
+			response = request.executeRequest();
+
+			LOG.debug("upload {}", response);
+
+			invalidate(aPath, true);
 		} catch (ZosmfRequestException e) {
 			throw new ConnectionException(e);
 		}
+	}
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length);
+	/**
+	 * @return the exception thrown by a task, the pool wraps checked exceptions
+	 */
+	private static Throwable getCause(ExecutionException e) {
+		Throwable t = e.getCause();
 
-		try (InputStream is = new ByteArrayInputStream(content)) {
-			IOUtils.copy(is, baos);
-		} catch (IOException e) {
-			throw new ConnectionException(e);
+		while (t instanceof RuntimeException && t.getCause() != null) {
+			t = t.getCause();
 		}
 
-		return baos;
+		return t;
 	}
 
-	public void changePermissions(String aPath, String octal) throws ConnectionException {
-		LOG.debug("changePermissions {} {}", aPath, octal);
+	/**
+	 * A modification of a single path. Instances are used by a single worker.
+	 */
+	@FunctionalInterface
+	private interface Modification {
+		Response apply(String aPath) throws ZosmfRequestException;
+	}
+
+	/**
+	 * Modifies paths with a number of workers. Every worker creates its own modification because
+	 * the SDK methods reuse a single, mutable request.
+	 */
+	private List<UssBulkResult> modify(List<String> paths, boolean tree, int parallelism, Supplier<Modification> modifications) throws ConnectionException {
+		UssBulkResult[] results = new UssBulkResult[paths.size()];
+		AtomicInteger next = new AtomicInteger();
+
+		int threads = Math.max(1, Math.min(parallelism, paths.size()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "zowe-uss-bulk");
+			t.setDaemon(true);
+
+			return t;
+		});
 
 		try {
-			ussChangeMode.change(aPath, new UssChangeModeInputData.Builder().mode(octal).build());
-		} catch (ZosmfRequestException e) {
+			List<Future<?>> futures = new ArrayList<>(threads);
+
+			for (int i = 0; i < threads; ++i) {
+				futures.add(executor.submit(() -> {
+					Modification m = modifications.get();
+
+					for (int j = next.getAndIncrement(); j < results.length; j = next.getAndIncrement()) {
+						String p = paths.get(j);
+
+						try {
+							LOG.debug("modify {}", m.apply(p));
+
+							invalidate(p, tree);
+
+							results[j] = new UssBulkResult(p, null);
+						} catch (ZosmfRequestException | IllegalArgumentException | IllegalStateException e) {
+							results[j] = new UssBulkResult(p, new ConnectionException(e));
+						}
+					}
+				}));
+			}
+
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
 			throw new ConnectionException(e);
+		} catch (ExecutionException e) {
+			throw new ConnectionException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * @return the paths which aren't below another of the paths, sorted
+	 */
+	private static List<String> topMost(Collection<String> paths) {
+		List<String> sorted = new ArrayList<>(paths);
+		Collections.sort(sorted);
+
+		List<String> result = new ArrayList<>(sorted.size());
+		Predicate<String> covered = p -> false;
+
+		for (String p : sorted) {
+			String path = normalizePath(p);
+
+			if (!covered.test(path)) {
+				result.add(p);
+				covered = covered.or(UssCache.below(path));
+			}
 		}
+
+		return result;
+	}
+
+	private static boolean isNotFound(ZosmfRequestException e) {
+		OptionalInt oStatusCode = e.getResponse() == null ? OptionalInt.empty() : e.getResponse().getStatusCode();
+
+		return oStatusCode.isPresent() && oStatusCode.getAsInt() == 404;
 	}
 
-	private String normalizePath(String aPath) {
+	static String normalizePath(String aPath) {
 		// Trailing slash yields "incorrect path"
 		String result = aPath.endsWith("/") && aPath.length() > 1 ? aPath.substring(0, aPath.length() - 1) : aPath;
 
@@ -256,7 +997,7 @@ public class ZoweUssConnection {
 		return result.startsWith("/") ? result : "/" + result;
 	}
 
-	private Calendar getMTime(UnixFile item) {
+	static Calendar getMTime(UnixFile item) {
 		Calendar result = Calendar.getInstance();
 
 		long time = 0L;